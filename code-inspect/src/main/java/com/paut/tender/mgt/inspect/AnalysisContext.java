@@ -0,0 +1,65 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import lombok.Getter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分析上下文：一套独立的JavaParser、类型求解器及其缓存、CompilationUnit缓存
+ * JavaParser、类型求解器以及CompilationUnit节点上的解析缓存都不是线程安全的，
+ * 同一上下文同一时刻只能被一个线程使用，使用前需持有 getLock()
+ */
+@Getter
+public class AnalysisContext implements Closeable {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final JavaParser javaParser;
+    private final CombinedTypeSolver typeSolver;
+    private final LazyJarTypeSolver jarTypeSolver;    // 没有依赖jar时为null
+    private final TypeSolverCaches typeSolverCaches;
+    private final CompilationUnitCache compilationUnitCache;
+
+    public AnalysisContext(JavaParser javaParser, CombinedTypeSolver typeSolver, LazyJarTypeSolver jarTypeSolver,
+                           TypeSolverCaches typeSolverCaches, CompilationUnitCache compilationUnitCache) {
+        this.javaParser = javaParser;
+        this.typeSolver = typeSolver;
+        this.jarTypeSolver = jarTypeSolver;
+        this.typeSolverCaches = typeSolverCaches;
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
+    /**
+     * 关闭依赖jar类型求解器打开的jar
+     */
+    @Override
+    public void close() {
+        if (jarTypeSolver != null) {
+            jarTypeSolver.close();
+        }
+    }
+
+    /**
+     * 获取文件的CompilationUnit，调用方需持有上下文的锁
+     */
+    public CompilationUnit parse(File file) {
+        if (!file.exists()) {
+            throw new IllegalArgumentException("文件不存在: " + file.getPath());
+        }
+        CompilationUnit cu;
+        try {
+            cu = compilationUnitCache.get(file);
+        } catch (IOException e) {
+            throw new RuntimeException("读取文件失败: " + file.getPath(), e);
+        }
+        if (cu == null) {
+            throw new RuntimeException("解析文件失败: " + file.getPath());
+        }
+        return cu;
+    }
+}
@@ -0,0 +1,368 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 类文件索引：类的完全限定名 -> 源文件路径
+ * 索引按文件持久化（所属模块、修改时间、大小、内容哈希、声明的类型），
+ * 刷新时只重新扫描新增和修改过的文件，并移除已删除文件的条目
+ */
+@Slf4j
+public class ClassFileIndex {
+
+    /**
+     * 索引格式版本，格式变化时递增，旧版本的缓存文件将被丢弃
+     */
+    private static final int INDEX_VERSION = 1;
+
+    private final InspectConfig config;
+    private final File cacheFile;
+
+    /**
+     * 源文件绝对路径 -> 索引条目
+     */
+    private final Map<String, IndexedFile> files = new ConcurrentHashMap<>();
+    private boolean loaded;
+
+    /**
+     * 单个源文件的索引条目
+     */
+    @Data
+    public static class IndexedFile {
+        private String moduleRoot;
+        private long lastModified;
+        private long size;
+        private String hash;
+        private List<String> qualifiedTypeNames = new ArrayList<>();
+    }
+
+    /**
+     * @param cacheFile 索引缓存文件，为null时不持久化
+     */
+    public ClassFileIndex(InspectConfig config, File cacheFile) {
+        this.config = config;
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * 校验并刷新索引，返回最新的类文件映射
+     */
+    public synchronized Map<String, String> refresh() {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+
+        long start = System.currentTimeMillis();
+        Set<String> seenFiles = new HashSet<>();
+        List<Path> changedFiles = new ArrayList<>();
+        List<String> changedModuleRoots = new ArrayList<>();
+        for (String modulePath : config.getProjectModules()) {
+            File moduleDir = new File(modulePath);
+            if (!moduleDir.exists()) {
+                log.warn("模块路径不存在: {}", modulePath);
+                continue;
+            }
+            String moduleRoot = moduleDir.getAbsolutePath();
+            scanJavaFiles(moduleDir.toPath(), (file, attrs) -> {
+                String path = file.toAbsolutePath().toString();
+                seenFiles.add(path);
+                IndexedFile indexed = files.get(path);
+                if (indexed == null || !moduleRoot.equals(indexed.getModuleRoot())
+                        || indexed.getLastModified() != attrs.lastModifiedTime().toMillis()
+                        || indexed.getSize() != attrs.size()) {
+                    changedFiles.add(file);
+                    changedModuleRoots.add(moduleRoot);
+                }
+            });
+        }
+
+        int removed = 0;
+        for (String path : new ArrayList<>(files.keySet())) {
+            if (!seenFiles.contains(path)) {
+                files.remove(path);
+                removed++;
+            }
+        }
+
+        AtomicInteger rescanned = new AtomicInteger();
+        indexFiles(changedFiles, changedModuleRoots, rescanned);
+
+        log.info("类文件索引刷新完成，共 {} 个文件，变化 {} 个（重新扫描 {} 个），删除 {} 个，耗时 {} ms",
+                seenFiles.size(), changedFiles.size(), rescanned.get(), removed, System.currentTimeMillis() - start);
+
+        if (!changedFiles.isEmpty() || removed > 0) {
+            save();
+        }
+        return buildClassFilePathMap();
+    }
+
+    /**
+     * 源码变化的影响范围
+     */
+    @Data
+    public static class ChangeSet {
+        private Set<Path> files = new LinkedHashSet<>();
+        private Set<String> qualifiedTypeNames = new HashSet<>();    // 变化前后声明的类型
+    }
+
+    /**
+     * 只重新索引指定的文件，用于监听到源码变化时的增量更新
+     * 目录按其下的所有Java文件处理（包括已删除目录中原有的文件）
+     *
+     * @param changedPaths 新增、修改或删除的文件或目录
+     * @return 实际变化的文件及其变化前后声明的类型
+     */
+    public synchronized ChangeSet update(Collection<Path> changedPaths) {
+        if (!loaded) {
+            load();
+            loaded = true;
+        }
+
+        Set<Path> candidates = new LinkedHashSet<>();
+        for (Path changedPath : changedPaths) {
+            Path absolute = changedPath.toAbsolutePath().normalize();
+            if (absolute.toString().endsWith(".java")) {
+                candidates.add(absolute);
+                continue;
+            }
+            for (String path : files.keySet()) {
+                if (Paths.get(path).startsWith(absolute)) {
+                    candidates.add(Paths.get(path));
+                }
+            }
+            if (Files.isDirectory(absolute)) {
+                scanJavaFiles(absolute, (file, attrs) -> candidates.add(file.toAbsolutePath().normalize()));
+            }
+        }
+
+        ChangeSet changeSet = new ChangeSet();
+        AtomicInteger rescanned = new AtomicInteger();
+        for (Path file : candidates) {
+            String path = file.toString();
+            IndexedFile before = files.get(path);
+            String moduleRoot = moduleRootOf(file);
+            if (moduleRoot != null && Files.isRegularFile(file)) {
+                indexFile(file, moduleRoot, rescanned);
+            } else {
+                files.remove(path);
+            }
+            IndexedFile after = files.get(path);
+            if (before == after) {
+                // 内容未变化只会更新原条目；未索引过的文件被删除时两者均为null
+                continue;
+            }
+            changeSet.getFiles().add(file);
+            if (before != null) {
+                changeSet.getQualifiedTypeNames().addAll(before.getQualifiedTypeNames());
+            }
+            if (after != null) {
+                changeSet.getQualifiedTypeNames().addAll(after.getQualifiedTypeNames());
+            }
+        }
+
+        if (!changeSet.getFiles().isEmpty()) {
+            save();
+            log.info("增量更新类文件索引: {} 个文件变化，涉及类型 {}", changeSet.getFiles().size(), changeSet.getQualifiedTypeNames());
+        }
+        return changeSet;
+    }
+
+    /**
+     * 当前的类文件映射
+     */
+    public Map<String, String> getClassFilePathMap() {
+        return buildClassFilePathMap();
+    }
+
+    /**
+     * 文件所属的模块源码根目录，不属于任何模块时返回null
+     */
+    private String moduleRootOf(Path file) {
+        for (String modulePath : config.getProjectModules()) {
+            Path moduleRoot = Paths.get(modulePath).toAbsolutePath().normalize();
+            if (file.startsWith(moduleRoot)) {
+                return new File(modulePath).getAbsolutePath();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 清空内存和磁盘上的索引
+     */
+    public synchronized void clear() {
+        files.clear();
+        loaded = true;
+        if (cacheFile != null && cacheFile.exists()) {
+            cacheFile.delete();
+            log.info("缓存文件已删除: {}", cacheFile);
+        }
+    }
+
+    private interface JavaFileVisitor {
+        void visit(Path file, BasicFileAttributes attrs);
+    }
+
+    /**
+     * 遍历目录下的所有Java文件
+     */
+    private void scanJavaFiles(Path directory, JavaFileVisitor visitor) {
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    if (attrs.isRegularFile() && file.getFileName().toString().endsWith(".java")) {
+                        visitor.visit(file, attrs);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    log.warn("无法访问: {}, 错误: {}", file, exc.getMessage());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            log.error("遍历目录时发生错误: {}, 错误: {}", directory, e.getMessage());
+        }
+    }
+
+    /**
+     * 重新索引发生变化的文件，开启并行扫描时在独立的ForkJoinPool中并行处理
+     */
+    private void indexFiles(List<Path> changedFiles, List<String> moduleRoots, AtomicInteger rescanned) {
+        int threads = Math.max(1, config.getIndexThreads());
+        if (!config.isParallelIndexing() || threads == 1 || changedFiles.size() < 2) {
+            for (int i = 0; i < changedFiles.size(); i++) {
+                indexFile(changedFiles.get(i), moduleRoots.get(i), rescanned);
+            }
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, changedFiles.size()).parallel()
+                    .forEach(i -> indexFile(changedFiles.get(i), moduleRoots.get(i), rescanned))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("并行扫描被中断", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("并行扫描失败: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 索引单个文件：内容哈希未变化时只更新修改时间和大小，否则重新扫描类型声明
+     * 摘要由词法扫描得到，不使用共享的JavaParser，可以在多个线程中同时调用
+     */
+    private void indexFile(Path file, String moduleRoot, AtomicInteger rescanned) {
+        String path = file.toAbsolutePath().toString();
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            byte[] content = Files.readAllBytes(file);
+            String hash = CompilationUnitCache.hash(content);
+
+            IndexedFile indexed = files.get(path);
+            if (indexed == null || !hash.equals(indexed.getHash())) {
+                JavaFileSummary summary = CompilationUnitCache.getSummary(content);
+                indexed = new IndexedFile();
+                indexed.setHash(hash);
+                indexed.setQualifiedTypeNames(summary.getQualifiedTypeNames());
+                rescanned.incrementAndGet();
+                log.debug("已索引文件: {} -> {}", path, summary.getQualifiedTypeNames());
+            }
+            indexed.setModuleRoot(moduleRoot);
+            indexed.setLastModified(attrs.lastModifiedTime().toMillis());
+            indexed.setSize(attrs.size());
+            files.put(path, indexed);
+        } catch (Exception e) {
+            files.remove(path);
+            log.error("解析Java文件时发生错误: {}, 错误: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 按文件路径顺序构建映射，同名类型以路径靠后的文件为准
+     */
+    private Map<String, String> buildClassFilePathMap() {
+        Map<String, String> classFilePathMap = new ConcurrentHashMap<>();
+        for (Map.Entry<String, IndexedFile> entry : new TreeMap<>(files).entrySet()) {
+            for (String qualifiedName : entry.getValue().getQualifiedTypeNames()) {
+                classFilePathMap.put(qualifiedName, entry.getKey());
+            }
+        }
+        return classFilePathMap;
+    }
+
+    private void load() {
+        if (cacheFile == null || !cacheFile.exists()) {
+            return;
+        }
+        try {
+            ObjectMapper objectMapper = new ObjectMapper();
+            JsonNode root = objectMapper.readTree(cacheFile);
+            if (root == null || root.path("version").asInt() != INDEX_VERSION) {
+                log.info("类文件索引缓存版本不一致，将重新扫描: {}", cacheFile);
+                return;
+            }
+            TypeReference<Map<String, IndexedFile>> typeRef = new TypeReference<Map<String, IndexedFile>>() {};
+            Map<String, IndexedFile> loadedFiles = objectMapper.readValue(
+                    objectMapper.treeAsTokens(root.path("files")), typeRef);
+            files.putAll(loadedFiles);
+            log.info("从缓存加载类文件索引完成，共 {} 个文件: {}", files.size(), cacheFile);
+        } catch (Exception e) {
+            files.clear();
+            log.warn("从缓存加载失败，将进行正常初始化: {}", e.getMessage());
+        }
+    }
+
+    private void save() {
+        if (cacheFile == null) {
+            return;
+        }
+        try {
+            File parentDir = cacheFile.getParentFile();
+            if (parentDir != null && !parentDir.exists()) {
+                parentDir.mkdirs();
+            }
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("version", INDEX_VERSION);
+            content.put("files", new TreeMap<>(files));
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(cacheFile, content);
+            log.info("类文件索引已保存到缓存文件: {}", cacheFile);
+        } catch (IOException e) {
+            log.warn("保存缓存文件失败: {}", e.getMessage());
+        }
+    }
+}
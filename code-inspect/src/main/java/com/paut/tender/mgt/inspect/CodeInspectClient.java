@@ -0,0 +1,106 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 常驻分析服务的命令行客户端，将服务返回的JSON原样输出，供IDE和提交前检查等集成调用
+ *
+ * 用法：
+ *   CodeInspectClient [--port 端口] 文件路径 开始行 结束行
+ *   CodeInspectClient [--port 端口] --status | --refresh | --shutdown
+ */
+public class CodeInspectClient {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 1000;
+
+    private final int port;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public CodeInspectClient(int port) {
+        this.port = port;
+    }
+
+    /**
+     * 分析单个行范围，返回服务响应的JSON
+     */
+    public String analyze(String filePath, int startLine, int endLine) throws IOException {
+        MethodCallAnalysisRequest request = new MethodCallAnalysisRequest(filePath, startLine, endLine);
+        return send("POST", "/analyze", objectMapper.writeValueAsBytes(request));
+    }
+
+    /**
+     * 发送请求，返回服务响应的JSON；服务返回错误状态时抛出 IOException，消息为响应内容
+     */
+    public String send(String method, String path, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + port + path).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setRequestMethod(method);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            String response = in == null ? "" : readFully(in);
+            if (status >= 400) {
+                throw new IOException("HTTP " + status + ": " + response);
+            }
+            return response;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private static String readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) {
+        int port = new InspectConfig().getDaemonPort();
+        int index = 0;
+        if (args.length > 1 && "--port".equals(args[0])) {
+            port = Integer.parseInt(args[1]);
+            index = 2;
+        }
+        CodeInspectClient client = new CodeInspectClient(port);
+        try {
+            String response;
+            String command = args.length > index ? args[index] : "";
+            if ("--status".equals(command)) {
+                response = client.send("GET", "/status", null);
+            } else if ("--refresh".equals(command)) {
+                response = client.send("POST", "/refresh", new byte[0]);
+            } else if ("--shutdown".equals(command)) {
+                response = client.send("POST", "/shutdown", new byte[0]);
+            } else if (args.length - index == 3) {
+                response = client.analyze(args[index], Integer.parseInt(args[index + 1]), Integer.parseInt(args[index + 2]));
+            } else {
+                System.err.println("用法: CodeInspectClient [--port 端口] 文件路径 开始行 结束行");
+                System.err.println("      CodeInspectClient [--port 端口] --status | --refresh | --shutdown");
+                System.exit(2);
+                return;
+            }
+            System.out.println(response);
+        } catch (IOException e) {
+            System.err.println("请求代码分析服务失败（端口 " + port + "）: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
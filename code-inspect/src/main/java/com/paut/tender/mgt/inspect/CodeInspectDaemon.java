@@ -0,0 +1,219 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 常驻的代码分析服务
+ * 启动时初始化一次 MethodCallAnalyzer（类型求解器、类文件映射），之后通过本机回环地址上的HTTP接口接收分析请求，
+ * 避免每次分析都重复JVM启动、类型求解器构建和JIT预热
+ *
+ * 接口（JSON输入输出）：
+ *   POST /analyze   {"filePath":..,"startLine":..,"endLine":..} 或其数组，返回对应的分析结果或结果数组
+ *   POST /refresh   增量刷新类文件映射，未开启 watchSources 时源码变化后调用
+ *   GET  /status    服务状态
+ *   POST /shutdown  停止服务
+ *
+ * 开启 watchSources 时监听模块源码目录，变化的文件自动增量更新。
+ * 请求由线程池并发处理，MethodCallAnalyzer 是线程安全的，不同文件的分析可以同时进行
+ */
+@Slf4j
+public class CodeInspectDaemon {
+
+    private final MethodCallAnalyzer analyzer;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final SourceChangeWatcher sourceWatcher;
+
+    private final long startTime = System.currentTimeMillis();
+    private final AtomicLong analyzedRequests = new AtomicLong();
+
+    public CodeInspectDaemon(InspectConfig config) throws IOException {
+        this(config, new MethodCallAnalyzer(config));
+    }
+
+    public CodeInspectDaemon(InspectConfig config, MethodCallAnalyzer analyzer) throws IOException {
+        this.analyzer = analyzer;
+        this.sourceWatcher = config.isWatchSources()
+                ? new SourceChangeWatcher(config.getProjectModules(), new SourceChangeWatcher.Listener() {
+                    @Override
+                    public void sourcesChanged(Set<Path> changedPaths) {
+                        analyzer.applySourceChanges(changedPaths);
+                    }
+
+                    @Override
+                    public void sourcesOverflowed() {
+                        analyzer.refreshClassFilePathMap();
+                    }
+                }, config.getWatchDebounceMillis())
+                : null;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getDaemonPort()), 0);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, config.getDaemonThreads()));
+        this.server.setExecutor(executor);
+        this.server.createContext("/analyze", handler("POST", this::analyze));
+        this.server.createContext("/refresh", handler("POST", this::refresh));
+        this.server.createContext("/status", handler("GET", body -> status()));
+        this.server.createContext("/shutdown", handler("POST", body -> {
+            // 先返回响应，再在独立线程中停止服务
+            new Thread(this::stop, "code-inspect-shutdown").start();
+            return Collections.singletonMap("stopping", true);
+        }));
+    }
+
+    public void start() throws IOException {
+        if (sourceWatcher != null) {
+            sourceWatcher.start();
+        }
+        server.start();
+        log.info("代码分析服务已启动: http://{}:{}", server.getAddress().getHostString(), server.getAddress().getPort());
+    }
+
+    /**
+     * 实际监听的端口，配置端口为0时由系统分配
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(1);
+        if (sourceWatcher != null) {
+            try {
+                sourceWatcher.close();
+            } catch (IOException e) {
+                log.warn("停止监听源码变化失败: {}", e.getMessage());
+            }
+        }
+        executor.shutdown();
+        analyzer.logUnresolvedSymbolSummary();
+        analyzer.close();
+        stopped.countDown();
+        log.info("代码分析服务已停止，共处理 {} 个分析请求", analyzedRequests.get());
+    }
+
+    public void awaitStop() throws InterruptedException {
+        stopped.await();
+    }
+
+    private interface RequestHandler {
+        Object handle(byte[] body) throws Exception;
+    }
+
+    private HttpHandler handler(String method, RequestHandler requestHandler) {
+        return exchange -> {
+            try {
+                if (!method.equals(exchange.getRequestMethod())) {
+                    respond(exchange, 405, error("只支持 " + method + " 请求"));
+                    return;
+                }
+                respond(exchange, 200, requestHandler.handle(readBody(exchange)));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                respond(exchange, 400, error("请求格式错误: " + e.getMessage()));
+            } catch (Exception e) {
+                log.error("处理请求失败: {}", exchange.getRequestURI(), e);
+                respond(exchange, 500, error(e.getMessage()));
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    /**
+     * 分析请求，单个请求返回单个结果，数组返回结果数组；单项失败时原因记录在结果的 errorMessage 中
+     */
+    private Object analyze(byte[] body) throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        if (root == null || !(root.isArray() || root.isObject())) {
+            throw new IllegalArgumentException("请求体应为分析请求或其数组");
+        }
+        List<MethodCallAnalysisRequest> requests = root.isArray()
+                ? objectMapper.readValue(objectMapper.treeAsTokens(root), new TypeReference<List<MethodCallAnalysisRequest>>() {})
+                : Collections.singletonList(objectMapper.treeToValue(root, MethodCallAnalysisRequest.class));
+        for (MethodCallAnalysisRequest request : requests) {
+            if (request.getFilePath() == null) {
+                throw new IllegalArgumentException("缺少 filePath");
+            }
+        }
+
+        List<MethodCallAnalysisResult> results = analyzer.analyzeMethodCalls(requests);
+        analyzedRequests.addAndGet(requests.size());
+        return root.isArray() ? results : results.get(0);
+    }
+
+    private Object refresh(byte[] body) {
+        analyzer.refreshClassFilePathMap();
+        return Collections.singletonMap("classCount", analyzer.getClassFilePathMap().size());
+    }
+
+    private Object status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("uptimeMillis", System.currentTimeMillis() - startTime);
+        status.put("analyzedRequests", analyzedRequests.get());
+        status.put("classCount", analyzer.getClassFilePathMap().size());
+        status.put("resolutionCacheSize", analyzer.getResolutionCache().size());
+        return status;
+    }
+
+    private static Map<String, String> error(String message) {
+        return Collections.singletonMap("errorMessage", message);
+    }
+
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] response = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    /**
+     * 启动服务：CodeInspectDaemon [端口]
+     */
+    public static void main(String[] args) throws Exception {
+        InspectConfig config = new InspectConfig();
+        if (args.length > 0) {
+            config.setDaemonPort(Integer.parseInt(args[0]));
+        }
+        CodeInspectDaemon daemon = new CodeInspectDaemon(config);
+        daemon.start();
+        daemon.awaitStop();
+    }
+}
@@ -0,0 +1,160 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.DataKey;
+import com.github.javaparser.resolution.types.ResolvedType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按文件路径缓存解析结果，并以内容哈希校验
+ * 内存中按LRU保留有限数量的CompilationUnit，同一进程内未变化的文件不会重复解析；
+ * 文件内容变化后旧的CompilationUnit被替换，内容相同的不同文件各自解析（存储路径不同）
+ *
+ * 文件摘要（包名、类型声明）由 JavaDeclarationScanner 词法扫描得到，不需要完整解析，
+ * 按路径和内容哈希持久化由 ClassFileIndex 负责，这里不再另外缓存
+ *
+ * JavaParser的AST节点不支持序列化，重启后需要分析的文件仍会重新解析
+ */
+@Slf4j
+public class CompilationUnitCache {
+
+    /**
+     * CompilationUnit上记录的文件内容哈希
+     */
+    public static final DataKey<String> CONTENT_HASH = new DataKey<String>() {
+    };
+
+    private final JavaParser javaParser;
+
+    /**
+     * 文件绝对路径 -> CompilationUnit（内容哈希记录在 CONTENT_HASH 上）
+     */
+    private final Map<String, CompilationUnit> units;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CompilationUnitCache(JavaParser javaParser, int maxUnits) {
+        this.javaParser = javaParser;
+        this.units = new LinkedHashMap<String, CompilationUnit>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompilationUnit> eldest) {
+                return size() > maxUnits;
+            }
+        };
+    }
+
+    /**
+     * 获取文件的CompilationUnit，路径和内容均未变化时直接返回缓存
+     * @return 解析失败时返回null
+     */
+    public CompilationUnit get(File javaFile) throws IOException {
+        byte[] content = Files.readAllBytes(javaFile.toPath());
+        return get(javaFile, content, hash(content));
+    }
+
+    /**
+     * 获取文件的摘要（词法扫描，不使用JavaParser，可以在多个线程中同时调用）
+     */
+    public JavaFileSummary getSummary(File javaFile) throws IOException {
+        return getSummary(Files.readAllBytes(javaFile.toPath()));
+    }
+
+    /**
+     * 根据已读取的文件内容获取摘要
+     */
+    static JavaFileSummary getSummary(byte[] content) {
+        return JavaDeclarationScanner.scan(new String(content, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 清除缓存的CompilationUnit节点上记录的已解析类型
+     * JavaParserFacade 将表达式的解析类型写入节点数据，源码变化后这些类型可能引用变化前的类型声明
+     */
+    public void clearResolvedTypes() {
+        synchronized (units) {
+            for (CompilationUnit cu : units.values()) {
+                cu.walk(node -> {
+                    for (DataKey<?> key : new ArrayList<>(node.getDataKeys())) {
+                        if (node.getData(key) instanceof ResolvedType) {
+                            node.removeData(key);
+                        }
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (units) {
+            units.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private CompilationUnit get(File javaFile, byte[] content, String hash) {
+        String path = javaFile.getAbsolutePath();
+        synchronized (units) {
+            CompilationUnit cached = units.get(path);
+            if (cached != null && hash.equals(cached.getData(CONTENT_HASH))) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+
+        misses.incrementAndGet();
+        ParseResult<CompilationUnit> parseResult = javaParser.parse(new String(content, StandardCharsets.UTF_8));
+        if (!parseResult.isSuccessful() || !parseResult.getResult().isPresent()) {
+            log.warn("解析Java文件失败: {}", javaFile.getAbsolutePath());
+            parseResult.getProblems().forEach(problem -> log.warn("解析问题: {}", problem.getMessage()));
+            return null;
+        }
+
+        CompilationUnit cu = parseResult.getResult().get();
+        cu.setStorage(javaFile.toPath(), StandardCharsets.UTF_8);
+        cu.setData(CONTENT_HASH, hash);
+        synchronized (units) {
+            units.put(path, cu);
+        }
+        return cu;
+    }
+
+    /**
+     * 计算文件内容的SHA-1哈希
+     */
+    static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 不可用", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.paut.tender.mgt.inspect;
+
+import lombok.Data;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 代码分析配置
+ */
+@Data
+public class InspectConfig {
+    /**
+     * 项目模块的源码根目录
+     */
+    private List<String> projectModules = new ArrayList<>(Arrays.asList(
+            "k:\\gitlab\\tender-mgt\\tender-api\\src\\main\\java",
+            "k:\\gitlab\\tender-mgt\\tender-business\\src\\main\\java",
+            "k:\\gitlab\\tender-mgt\\tender-contract\\src\\main\\java",
+            "k:\\gitlab\\tender-mgt\\tender-job\\src\\main\\java"
+    ));
+
+    /**
+     * 缓存文件所在目录
+     */
+    private String cacheDirectory = "K:\\gitlab\\tender-mgt\\code-inspect\\src\\cache";
+
+    /**
+     * 类文件索引缓存文件名，位于 cacheDirectory 下
+     */
+    private String classMapCacheFileName = "classMapCache.json";
+
+    /**
+     * 内存中最多缓存的CompilationUnit数量
+     */
+    private int compilationUnitCacheSize = 512;
+
+    /**
+     * 内存中最多缓存的方法调用/scope类型解析结果数量
+     */
+    private int resolutionCacheSize = 100000;
+
+    /**
+     * 是否并行扫描项目模块构建类文件映射
+     */
+    private boolean parallelIndexing = true;
+
+    /**
+     * 并行扫描的线程数
+     */
+    private int indexThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 批量分析时是否按文件并行，每个线程使用独立的JavaParser和类型求解器
+     */
+    private boolean parallelBatchAnalysis = false;
+
+    /**
+     * 批量分析的并行线程数
+     */
+    private int analysisThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * 是否根据项目的pom.xml从本地仓库离线解析依赖jar（含传递依赖）并加入类型求解器
+     */
+    private boolean resolveMavenDependencies = true;
+
+    /**
+     * Maven本地仓库目录
+     */
+    private String mavenRepository = System.getProperty("user.home") + File.separator + ".m2" + File.separator + "repository";
+
+    /**
+     * 项目的pom.xml，为空时从各模块源码根目录向上查找最近的pom.xml
+     */
+    private List<String> projectPomFiles = new ArrayList<>();
+
+    /**
+     * 额外加入类型求解器的jar，用于pom.xml中没有声明的依赖
+     */
+    private List<String> additionalJars = new ArrayList<>();
+
+    /**
+     * 依赖jar类型索引缓存文件名，位于 cacheDirectory 下
+     */
+    private String jarTypeIndexCacheFileName = "jarTypeIndex.json";
+
+    /**
+     * 常驻分析服务监听的本机端口
+     */
+    private int daemonPort = 7878;
+
+    /**
+     * 常驻分析服务接收请求的线程数
+     */
+    private int daemonThreads = 4;
+
+    /**
+     * 常驻分析服务是否监听源码变化并增量更新
+     */
+    private boolean watchSources = true;
+
+    /**
+     * 源码变化事件的合并等待时间（毫秒），静默该时长后才应用变化
+     */
+    private long watchDebounceMillis = 300;
+}
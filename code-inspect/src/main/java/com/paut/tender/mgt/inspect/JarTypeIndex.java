@@ -0,0 +1,267 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 依赖jar的类型索引：类型名 -> 所在jar及条目
+ * 索引按jar持久化（修改时间、大小、SHA-1校验和、class条目），首次查找时才加载和校验，
+ * 只有新增或内容变化的jar需要重新读取目录；类型求解器据此直接定位class，不需要预先打开jar
+ *
+ * 同名类型以依赖列表中靠前的jar为准，与编译时的classpath顺序一致
+ */
+@Slf4j
+public class JarTypeIndex {
+
+    /**
+     * 索引格式版本，格式变化时递增，旧版本的缓存文件将被丢弃
+     */
+    private static final int INDEX_VERSION = 1;
+
+    private final List<File> jarFiles;
+    private final File cacheFile;
+
+    /**
+     * jar绝对路径 -> 索引条目
+     */
+    private final Map<String, IndexedJar> jars = new HashMap<>();
+
+    /**
+     * 类型名（内部类以 . 分隔）-> 所在位置，首次查找时构建，之后只读
+     */
+    private volatile Map<String, TypeLocation> types;
+
+    /**
+     * 单个jar的索引条目
+     */
+    @Data
+    public static class IndexedJar {
+        private long lastModified;
+        private long size;
+        private String checksum;
+        private List<String> classEntries = new ArrayList<>();    // class条目名，不含 .class 后缀
+    }
+
+    /**
+     * 类型所在的jar及条目
+     */
+    @Data
+    public static class TypeLocation {
+        private final File jarFile;
+        private final String classEntry;    // 如 com/foo/Outer$Inner
+
+        /**
+         * JVM二进制名，如 com.foo.Outer$Inner
+         */
+        public String getBinaryName() {
+            return classEntry.replace('/', '.');
+        }
+    }
+
+    /**
+     * @param jarFiles  依赖jar，按classpath顺序
+     * @param cacheFile 索引缓存文件，为null时不持久化
+     */
+    public JarTypeIndex(List<File> jarFiles, File cacheFile) {
+        this.jarFiles = new ArrayList<>(jarFiles);
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * 查找类型所在位置
+     * @param typeName 完全限定名，内部类以 . 分隔
+     * @return 不在任何依赖jar中时返回null
+     */
+    public TypeLocation find(String typeName) {
+        Map<String, TypeLocation> current = types;
+        if (current == null) {
+            synchronized (this) {
+                if (types == null) {
+                    refresh();
+                }
+                current = types;
+            }
+        }
+        return current.get(typeName);
+    }
+
+    /**
+     * 按JVM二进制名查找类型所在位置，供字节码加载时使用
+     */
+    public TypeLocation findByBinaryName(String binaryName) {
+        TypeLocation location = find(binaryName.replace('$', '.'));
+        return location != null && location.getBinaryName().equals(binaryName) ? location : null;
+    }
+
+    public int getJarCount() {
+        return jarFiles.size();
+    }
+
+    /**
+     * 清空内存和磁盘上的索引，下次查找时重新建立
+     */
+    public synchronized void clear() {
+        jars.clear();
+        types = null;
+        if (cacheFile != null && cacheFile.exists()) {
+            cacheFile.delete();
+            log.info("缓存文件已删除: {}", cacheFile);
+        }
+    }
+
+    /**
+     * 校验索引并重建类型映射，只重新读取新增和变化的jar
+     */
+    private void refresh() {
+        long start = System.currentTimeMillis();
+        if (jars.isEmpty()) {
+            load();
+        }
+
+        Map<String, IndexedJar> current = new HashMap<>();
+        int changed = 0;
+        int reindexed = 0;
+        for (File jarFile : jarFiles) {
+            String path = jarFile.getAbsolutePath();
+            IndexedJar indexed = jars.get(path);
+            if (indexed == null || indexed.getLastModified() != jarFile.lastModified()
+                    || indexed.getSize() != jarFile.length()) {
+                changed++;
+                try {
+                    String checksum = checksum(jarFile);
+                    if (indexed == null || !checksum.equals(indexed.getChecksum())) {
+                        indexed = new IndexedJar();
+                        indexed.setChecksum(checksum);
+                        indexed.setClassEntries(readClassEntries(jarFile));
+                        reindexed++;
+                        log.debug("已索引依赖jar: {}，共 {} 个类型", path, indexed.getClassEntries().size());
+                    }
+                    indexed.setLastModified(jarFile.lastModified());
+                    indexed.setSize(jarFile.length());
+                } catch (IOException e) {
+                    log.warn("读取依赖jar失败 {}: {}", jarFile, e.getMessage());
+                    continue;
+                }
+            }
+            current.put(path, indexed);
+        }
+        boolean removed = !current.keySet().containsAll(jars.keySet());
+        jars.clear();
+        jars.putAll(current);
+
+        Map<String, TypeLocation> types = new HashMap<>();
+        for (File jarFile : jarFiles) {
+            IndexedJar indexed = jars.get(jarFile.getAbsolutePath());
+            if (indexed == null) {
+                continue;
+            }
+            for (String classEntry : indexed.getClassEntries()) {
+                types.putIfAbsent(classEntry.replace('/', '.').replace('$', '.'), new TypeLocation(jarFile, classEntry));
+            }
+        }
+
+        this.types = types;
+        log.info("依赖jar类型索引加载完成，共 {} 个jar、{} 个类型，变化 {} 个（重新读取 {} 个），耗时 {} ms",
+                jars.size(), types.size(), changed, reindexed, System.currentTimeMillis() - start);
+        if (changed > 0 || removed) {
+            save();
+        }
+    }
+
+    /**
+     * 读取jar中的class条目（只读取zip中央目录）
+     */
+    private static List<String> readClassEntries(File jarFile) throws IOException {
+        List<String> classEntries = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jarFile)) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                String entryName = entries.nextElement().getName();
+                if (!entryName.endsWith(".class") || entryName.startsWith("META-INF/")
+                        || entryName.endsWith("module-info.class") || entryName.endsWith("package-info.class")) {
+                    continue;
+                }
+                classEntries.add(entryName.substring(0, entryName.length() - ".class".length()));
+            }
+        }
+        return classEntries;
+    }
+
+    /**
+     * 计算jar的SHA-1校验和，只在修改时间或大小变化时调用
+     */
+    private static String checksum(File jarFile) throws IOException {
+        try (InputStream in = Files.newInputStream(jarFile.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 不可用", e);
+        }
+    }
+
+    private void load() {
+        if (cacheFile == null || !cacheFile.exists()) {
+            return;
+        }
+        try {
+            ObjectMapper objectMapper = new ObjectMapper();
+            JsonNode root = objectMapper.readTree(cacheFile);
+            if (root == null || root.path("version").asInt() != INDEX_VERSION) {
+                log.info("依赖jar类型索引缓存版本不一致，将重新读取: {}", cacheFile);
+                return;
+            }
+            TypeReference<Map<String, IndexedJar>> typeRef = new TypeReference<Map<String, IndexedJar>>() {};
+            jars.putAll(objectMapper.readValue(objectMapper.treeAsTokens(root.path("jars")), typeRef));
+        } catch (Exception e) {
+            jars.clear();
+            log.warn("加载依赖jar类型索引缓存失败，将重新读取: {}", e.getMessage());
+        }
+    }
+
+    private void save() {
+        if (cacheFile == null) {
+            return;
+        }
+        try {
+            File parentDir = cacheFile.getParentFile();
+            if (parentDir != null && !parentDir.exists()) {
+                parentDir.mkdirs();
+            }
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("version", INDEX_VERSION);
+            content.put("jars", new TreeMap<>(jars));
+            new ObjectMapper().writeValue(cacheFile, content);
+            log.info("依赖jar类型索引已保存: {}", cacheFile);
+        } catch (IOException e) {
+            log.warn("保存依赖jar类型索引失败: {}", e.getMessage());
+        }
+    }
+}
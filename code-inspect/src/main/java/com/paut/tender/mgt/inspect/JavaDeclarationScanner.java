@@ -0,0 +1,224 @@
+package com.paut.tender.mgt.inspect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 轻量级类型声明扫描器
+ * 只做词法级扫描（跳过注释、字符串、字符字面量），识别包声明和类型声明，不构建AST；
+ * 支持 class、interface、enum、record、@interface 以及嵌套类型（Outer.Inner），
+ * 方法体内的局部类和匿名类不会被索引
+ */
+public class JavaDeclarationScanner {
+
+    private final char[] src;
+    private int pos;
+
+    /**
+     * 花括号栈：每一层记录是否为类型体，以及类型体对应的类型名
+     */
+    private final List<String> braceTypes = new ArrayList<>();
+    private final List<String> typeNames = new ArrayList<>();
+
+    /**
+     * 已识别出类型名、等待类型体左花括号的类型
+     */
+    private String pendingType;
+    private int parenDepth;
+
+    private String previousToken = "";
+
+    private JavaDeclarationScanner(char[] src) {
+        this.src = src;
+    }
+
+    /**
+     * 扫描源码，返回包名和所有类型声明的完全限定名
+     */
+    public static JavaFileSummary scan(String source) {
+        JavaDeclarationScanner scanner = new JavaDeclarationScanner(source.toCharArray());
+        return scanner.run();
+    }
+
+    private JavaFileSummary run() {
+        JavaFileSummary summary = new JavaFileSummary();
+        String packageName = "";
+
+        String token;
+        while ((token = nextToken()) != null) {
+            switch (token) {
+                case "package":
+                    if (braceTypes.isEmpty() && typeNames.isEmpty() && packageName.isEmpty()) {
+                        packageName = readQualifiedName();
+                        summary.setPackageName(packageName);
+                    }
+                    break;
+                case "class":
+                case "interface":
+                case "enum":
+                    // X.class 是类字面量
+                    if (!".".equals(previousToken) && isMemberContext()) {
+                        declareType(summary, packageName, nextToken());
+                    }
+                    break;
+                case "record":
+                    if (isMemberContext()) {
+                        int mark = pos;
+                        String name = nextToken();
+                        String following = nextToken();
+                        if (isIdentifier(name) && ("(".equals(following) || "<".equals(following))) {
+                            declareType(summary, packageName, name);
+                        }
+                        pos = mark;
+                    }
+                    break;
+                case "(":
+                    parenDepth++;
+                    break;
+                case ")":
+                    parenDepth = Math.max(0, parenDepth - 1);
+                    break;
+                case "{":
+                    if (pendingType != null && parenDepth == 0) {
+                        braceTypes.add(pendingType);
+                        typeNames.add(pendingType);
+                        pendingType = null;
+                    } else {
+                        braceTypes.add(null);
+                    }
+                    break;
+                case "}":
+                    if (!braceTypes.isEmpty()) {
+                        String closed = braceTypes.remove(braceTypes.size() - 1);
+                        if (closed != null) {
+                            typeNames.remove(typeNames.size() - 1);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+            previousToken = token;
+        }
+        if (summary.getPackageName() == null) {
+            summary.setPackageName("");
+        }
+        return summary;
+    }
+
+    /**
+     * 当前位置是否可以声明成员类型：文件顶层或直接位于类型体中
+     */
+    private boolean isMemberContext() {
+        return pendingType == null && parenDepth == 0
+                && (braceTypes.isEmpty() || braceTypes.get(braceTypes.size() - 1) != null);
+    }
+
+    private void declareType(JavaFileSummary summary, String packageName, String name) {
+        if (!isIdentifier(name)) {
+            return;
+        }
+        StringBuilder qualifiedName = new StringBuilder(packageName);
+        for (String outer : typeNames) {
+            appendSegment(qualifiedName, outer);
+        }
+        appendSegment(qualifiedName, name);
+        summary.getQualifiedTypeNames().add(qualifiedName.toString());
+        pendingType = name;
+    }
+
+    private static void appendSegment(StringBuilder qualifiedName, String segment) {
+        if (qualifiedName.length() > 0) {
+            qualifiedName.append('.');
+        }
+        qualifiedName.append(segment);
+    }
+
+    private String readQualifiedName() {
+        StringBuilder name = new StringBuilder();
+        String token;
+        while ((token = nextToken()) != null && !";".equals(token)) {
+            name.append(token);
+        }
+        return name.toString();
+    }
+
+    private static boolean isIdentifier(String token) {
+        return token != null && !token.isEmpty() && Character.isJavaIdentifierStart(token.charAt(0));
+    }
+
+    /**
+     * 读取下一个词法单元：标识符/关键字，或单个符号字符；注释和字面量被跳过
+     * @return 文件结束时返回null
+     */
+    private String nextToken() {
+        while (pos < src.length) {
+            char c = src[pos];
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '/' && pos + 1 < src.length && src[pos + 1] == '/') {
+                skipLineComment();
+            } else if (c == '/' && pos + 1 < src.length && src[pos + 1] == '*') {
+                skipBlockComment();
+            } else if (c == '"') {
+                skipString();
+            } else if (c == '\'') {
+                skipCharLiteral();
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = pos;
+                while (pos < src.length && Character.isJavaIdentifierPart(src[pos])) {
+                    pos++;
+                }
+                return new String(src, start, pos - start);
+            } else if (Character.isDigit(c)) {
+                // 数字字面量（含 1_000L、0x1F、1.5e3 等）
+                while (pos < src.length && (Character.isJavaIdentifierPart(src[pos]) || src[pos] == '.')) {
+                    pos++;
+                }
+            } else {
+                pos++;
+                return String.valueOf(c);
+            }
+        }
+        return null;
+    }
+
+    private void skipLineComment() {
+        while (pos < src.length && src[pos] != '\n') {
+            pos++;
+        }
+    }
+
+    private void skipBlockComment() {
+        pos += 2;
+        while (pos + 1 < src.length && !(src[pos] == '*' && src[pos + 1] == '/')) {
+            pos++;
+        }
+        pos += 2;
+    }
+
+    private void skipString() {
+        // 文本块 """..."""
+        if (pos + 2 < src.length && src[pos + 1] == '"' && src[pos + 2] == '"') {
+            pos += 3;
+            while (pos + 2 < src.length && !(src[pos] == '"' && src[pos + 1] == '"' && src[pos + 2] == '"')) {
+                pos += src[pos] == '\\' ? 2 : 1;
+            }
+            pos += 3;
+            return;
+        }
+        pos++;
+        while (pos < src.length && src[pos] != '"' && src[pos] != '\n') {
+            pos += src[pos] == '\\' ? 2 : 1;
+        }
+        pos++;
+    }
+
+    private void skipCharLiteral() {
+        pos++;
+        while (pos < src.length && src[pos] != '\'' && src[pos] != '\n') {
+            pos += src[pos] == '\\' ? 2 : 1;
+        }
+        pos++;
+    }
+}
@@ -0,0 +1,15 @@
+package com.paut.tender.mgt.inspect;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Java文件解析摘要：构建类文件映射只需要包名和类型声明
+ */
+@Data
+public class JavaFileSummary {
+    private String packageName;
+    private List<String> qualifiedTypeNames = new ArrayList<>();  // 文件中声明的类型的完全限定名
+}
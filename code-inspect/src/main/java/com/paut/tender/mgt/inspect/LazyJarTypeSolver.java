@@ -0,0 +1,179 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javassistmodel.JavassistFactory;
+import javassist.ClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 按需加载的依赖jar类型求解器
+ * 1. 创建时不打开任何jar，类型所在位置由 JarTypeIndex 查找
+ * 2. 只有实际解析到的类型才会打开所在jar并读取其字节码
+ *
+ * 字节码加载使用 javassist，与 JarTypeSolver 生成相同的类型声明；
+ * ClassPool 不是线程安全的，查找过程整体加锁，并行分析时每个线程应使用独立的实例（可共用同一个索引）
+ *
+ * 打开的jar在 close() 前一直保持打开（Windows上同时会锁定jar文件）；
+ * close() 后仍可继续使用，之后的查找会重新打开所需的jar
+ */
+@Slf4j
+public class LazyJarTypeSolver implements TypeSolver, Closeable {
+
+    private final JarTypeIndex index;
+    private final Map<File, ZipFile> openedJars = new HashMap<>();
+    private ClassPool classPool;
+    private TypeSolver parent;
+    private int loadedTypes;
+
+    public LazyJarTypeSolver(JarTypeIndex index) {
+        this.index = index;
+        this.classPool = newClassPool();
+    }
+
+    @Override
+    public TypeSolver getParent() {
+        return parent;
+    }
+
+    @Override
+    public void setParent(TypeSolver parent) {
+        if (parent == null) {
+            throw new NullPointerException("parent 不能为空");
+        }
+        if (this.parent != null) {
+            throw new IllegalStateException("parent 已设置");
+        }
+        if (parent == this) {
+            throw new IllegalStateException("parent 不能是自身");
+        }
+        this.parent = parent;
+    }
+
+    @Override
+    public synchronized SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+        JarTypeIndex.TypeLocation location = index.find(name);
+        if (location == null) {
+            return SymbolReference.unsolved();
+        }
+        try {
+            CtClass ctClass = classPool.get(location.getBinaryName());
+            loadedTypes++;
+            return SymbolReference.solved(JavassistFactory.toTypeDeclaration(ctClass, getRoot()));
+        } catch (NotFoundException e) {
+            log.warn("无法从依赖jar加载类型 {}: {}", name, location.getJarFile());
+            return SymbolReference.unsolved();
+        }
+    }
+
+    /**
+     * 已打开的jar数量
+     */
+    public synchronized int getOpenedJarCount() {
+        return openedJars.size();
+    }
+
+    /**
+     * 已加载字节码的类型数量（含重复解析同一类型）
+     */
+    public synchronized int getLoadedTypeCount() {
+        return loadedTypes;
+    }
+
+    /**
+     * 关闭已打开的jar，并丢弃已加载的字节码（jar内容可能已变化）
+     */
+    @Override
+    public synchronized void close() {
+        for (Map.Entry<File, ZipFile> entry : openedJars.entrySet()) {
+            try {
+                entry.getValue().close();
+            } catch (IOException e) {
+                log.warn("关闭依赖jar失败 {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+        if (!openedJars.isEmpty()) {
+            log.debug("已关闭 {} 个依赖jar", openedJars.size());
+        }
+        openedJars.clear();
+        classPool = newClassPool();
+    }
+
+    private ClassPool newClassPool() {
+        ClassPool pool = new ClassPool(false);
+        pool.appendClassPath(new IndexedClassPath());
+        return pool;
+    }
+
+    private ZipFile zipFile(File jarFile) throws IOException {
+        ZipFile zipFile = openedJars.get(jarFile);
+        if (zipFile == null) {
+            zipFile = new ZipFile(jarFile);
+            openedJars.put(jarFile, zipFile);
+            log.debug("已打开依赖jar: {}", jarFile);
+        }
+        return zipFile;
+    }
+
+    /**
+     * 通过索引定位class的ClassPath，javassist在加载类型及其父类型时调用
+     */
+    private class IndexedClassPath implements ClassPath {
+
+        @Override
+        public InputStream openClassfile(String classname) throws NotFoundException {
+            JarTypeIndex.TypeLocation location = index.findByBinaryName(classname);
+            if (location == null) {
+                return null;
+            }
+            try {
+                ZipFile zipFile = zipFile(location.getJarFile());
+                ZipEntry entry = zipFile.getEntry(location.getClassEntry() + ".class");
+                if (entry == null) {
+                    throw new NotFoundException(classname);
+                }
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                    }
+                    return new ByteArrayInputStream(out.toByteArray());
+                }
+            } catch (IOException e) {
+                throw new NotFoundException(classname, e);
+            }
+        }
+
+        @Override
+        public URL find(String classname) {
+            JarTypeIndex.TypeLocation location = index.findByBinaryName(classname);
+            if (location == null) {
+                return null;
+            }
+            try {
+                return new URL("jar:" + location.getJarFile().toURI() + "!/" + location.getClassEntry() + ".class");
+            } catch (MalformedURLException e) {
+                return null;
+            }
+        }
+    }
+}
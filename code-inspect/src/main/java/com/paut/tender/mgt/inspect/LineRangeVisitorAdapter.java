@@ -0,0 +1,227 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.stmt.*;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import java.util.Optional;
+
+/**
+ * 按行范围剪枝的访问器
+ * 类型成员和语句的范围与 [startLine, endLine] 不重叠时直接跳过整棵子树，
+ * 重叠时交给 VoidVisitorAdapter 按原顺序继续遍历，因此访问顺序与完整遍历一致；
+ * 没有位置信息的节点不做剪枝
+ */
+public abstract class LineRangeVisitorAdapter<A> extends VoidVisitorAdapter<A> {
+
+    protected final int startLine;
+    protected final int endLine;
+
+    protected LineRangeVisitorAdapter(int startLine, int endLine) {
+        this.startLine = startLine;
+        this.endLine = endLine;
+    }
+
+    /**
+     * 节点范围是否与行范围重叠
+     */
+    protected boolean overlaps(Node node) {
+        Optional<Range> range = node.getRange();
+        return !range.isPresent() || (range.get().begin.line <= endLine && range.get().end.line >= startLine);
+    }
+
+    // ========== 类型及成员声明 ==========
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(EnumDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(RecordDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(AnnotationDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(EnumConstantDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(FieldDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(InitializerDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ConstructorDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(CompactConstructorDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(MethodDeclaration n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    // ========== 语句 ==========
+
+    @Override
+    public void visit(BlockStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ExpressionStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ReturnStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(IfStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ForStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ForEachStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(WhileStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(DoStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(TryStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(CatchClause n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(SwitchStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(SwitchEntry n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(SynchronizedStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(LabeledStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ThrowStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(LocalClassDeclarationStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+
+    @Override
+    public void visit(ExplicitConstructorInvocationStmt n, A arg) {
+        if (overlaps(n)) {
+            super.visit(n, arg);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.paut.tender.mgt.inspect;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 离线解析Maven依赖
+ * 读取项目的pom.xml（含父pom、属性、dependencyManagement及import的BOM），
+ * 在本地仓库中按就近原则解析传递依赖，得到依赖jar列表；不访问网络，本地仓库中不存在的构件直接跳过
+ *
+ * 只处理类型解析需要的 compile/provided/runtime/system 依赖，传递依赖中的 optional 和 provided 依赖按Maven规则忽略
+ */
+@Slf4j
+public class MavenDependencyResolver {
+
+    private static final Pattern PROPERTY = Pattern.compile("\\$\\{([^}]+)}");
+    private static final Set<String> DIRECT_SCOPES = new HashSet<>(Arrays.asList("compile", "provided", "runtime", "system"));
+    private static final Set<String> TRANSITIVE_SCOPES = new HashSet<>(Arrays.asList("compile", "runtime"));
+
+    private final File repository;
+    private final DocumentBuilderFactory documentBuilderFactory = DocumentBuilderFactory.newInstance();
+
+    /**
+     * 构件坐标或pom文件路径 -> 有效pom，不存在的记为null
+     */
+    private final Map<String, Pom> pomCache = new HashMap<>();
+
+    private int missingPoms;
+    private int missingJars;
+
+    /**
+     * 依赖声明
+     */
+    @Data
+    private static class Dependency {
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private String type = "jar";
+        private String classifier;
+        private String scope;
+        private String systemPath;
+        private boolean optional;
+        private Set<String> exclusions = new HashSet<>();
+
+        String key() {
+            return groupId + ":" + artifactId;
+        }
+    }
+
+    /**
+     * 合并父pom后的有效pom（简化）
+     */
+    @Data
+    private static class Pom {
+        private String groupId;
+        private String artifactId;
+        private String version;
+        private Map<String, String> properties = new HashMap<>();
+        private Map<String, Dependency> dependencyManagement = new LinkedHashMap<>();
+        private List<Dependency> dependencies = new ArrayList<>();
+    }
+
+    public MavenDependencyResolver(File repository) {
+        this.repository = repository;
+        this.documentBuilderFactory.setNamespaceAware(false);
+        this.documentBuilderFactory.setExpandEntityReferences(false);
+    }
+
+    /**
+     * 查找源码根目录所属模块的pom.xml：从源码根目录向上查找最近的pom.xml
+     */
+    public static File findModulePom(File sourceRoot) {
+        File dir = sourceRoot.getAbsoluteFile();
+        while (dir != null) {
+            File pom = new File(dir, "pom.xml");
+            if (pom.isFile()) {
+                return pom;
+            }
+            dir = dir.getParentFile();
+        }
+        return null;
+    }
+
+    /**
+     * 解析项目pom的全部依赖jar，按依赖深度（就近原则）排列
+     */
+    public List<File> resolveJars(List<File> projectPoms) {
+        Map<String, Dependency> resolved = new LinkedHashMap<>();
+        Deque<Object[]> queue = new ArrayDeque<>();
+
+        for (File pomFile : projectPoms) {
+            Pom pom = loadPom(pomFile);
+            if (pom == null) {
+                continue;
+            }
+            for (Dependency dependency : pom.getDependencies()) {
+                String scope = dependency.getScope() == null ? "compile" : dependency.getScope();
+                if (DIRECT_SCOPES.contains(scope)) {
+                    queue.add(new Object[]{dependency, pom.getDependencyManagement(), Collections.<String>emptySet()});
+                }
+            }
+        }
+
+        // 广度优先：先出现（更近）的构件版本优先
+        while (!queue.isEmpty()) {
+            Object[] item = queue.poll();
+            Dependency dependency = (Dependency) item[0];
+            @SuppressWarnings("unchecked")
+            Map<String, Dependency> rootManagement = (Map<String, Dependency>) item[1];
+            @SuppressWarnings("unchecked")
+            Set<String> exclusions = (Set<String>) item[2];
+
+            if (resolved.containsKey(dependency.key()) || isExcluded(dependency, exclusions)) {
+                continue;
+            }
+            resolved.put(dependency.key(), dependency);
+            if (dependency.getVersion() == null || "system".equals(dependency.getScope())) {
+                continue;
+            }
+
+            Pom pom = loadPom(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+            if (pom == null) {
+                continue;
+            }
+            Set<String> childExclusions = new HashSet<>(exclusions);
+            childExclusions.addAll(dependency.getExclusions());
+            for (Dependency child : pom.getDependencies()) {
+                String scope = child.getScope() == null ? "compile" : child.getScope();
+                if (child.isOptional() || !TRANSITIVE_SCOPES.contains(scope)) {
+                    continue;
+                }
+                // 项目的dependencyManagement对传递依赖同样生效
+                Dependency managed = rootManagement.get(child.key());
+                if (managed != null && managed.getVersion() != null) {
+                    child = copyWithVersion(child, managed.getVersion());
+                }
+                queue.add(new Object[]{child, rootManagement, childExclusions});
+            }
+        }
+
+        List<File> jars = new ArrayList<>();
+        for (Dependency dependency : resolved.values()) {
+            File jar = jarFile(dependency);
+            if (jar != null && jar.isFile()) {
+                jars.add(jar);
+            } else if (jar != null) {
+                missingJars++;
+                log.debug("本地仓库中不存在依赖jar: {}", jar);
+            }
+        }
+        log.info("从 {} 个pom.xml解析到 {} 个依赖，其中 {} 个jar可用（缺失jar {} 个，缺失pom {} 个）",
+                projectPoms.size(), resolved.size(), jars.size(), missingJars, missingPoms);
+        return jars;
+    }
+
+    private static boolean isExcluded(Dependency dependency, Set<String> exclusions) {
+        return exclusions.contains(dependency.key())
+                || exclusions.contains(dependency.getGroupId() + ":*")
+                || exclusions.contains("*:*");
+    }
+
+    private File jarFile(Dependency dependency) {
+        if (dependency.getSystemPath() != null) {
+            return new File(dependency.getSystemPath());
+        }
+        if (!"jar".equals(dependency.getType()) && !"bundle".equals(dependency.getType())
+                && !"test-jar".equals(dependency.getType())) {
+            return null;
+        }
+        if (dependency.getVersion() == null) {
+            return null;
+        }
+        String classifier = dependency.getClassifier() != null ? "-" + dependency.getClassifier()
+                : "test-jar".equals(dependency.getType()) ? "-tests" : "";
+        return new File(artifactDirectory(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion()),
+                dependency.getArtifactId() + "-" + dependency.getVersion() + classifier + ".jar");
+    }
+
+    private File artifactDirectory(String groupId, String artifactId, String version) {
+        return new File(repository, groupId.replace('.', File.separatorChar)
+                + File.separator + artifactId + File.separator + version);
+    }
+
+    private Pom loadPom(String groupId, String artifactId, String version) {
+        File pomFile = new File(artifactDirectory(groupId, artifactId, version), artifactId + "-" + version + ".pom");
+        String key = groupId + ":" + artifactId + ":" + version;
+        if (pomCache.containsKey(key)) {
+            return pomCache.get(key);
+        }
+        Pom pom = null;
+        if (pomFile.isFile()) {
+            pom = loadPom(pomFile);
+        } else {
+            missingPoms++;
+            log.debug("本地仓库中不存在pom: {}", pomFile);
+        }
+        pomCache.put(key, pom);
+        return pom;
+    }
+
+    private Pom loadPom(File pomFile) {
+        String key = pomFile.getAbsolutePath();
+        if (pomCache.containsKey(key)) {
+            return pomCache.get(key);
+        }
+        // 先占位，防止父pom循环引用
+        pomCache.put(key, null);
+        Pom pom = null;
+        try {
+            pom = parsePom(pomFile);
+        } catch (Exception e) {
+            log.warn("解析pom失败: {}, 错误: {}", pomFile, e.getMessage());
+        }
+        pomCache.put(key, pom);
+        return pom;
+    }
+
+    private Pom parsePom(File pomFile) throws Exception {
+        DocumentBuilder builder = documentBuilderFactory.newDocumentBuilder();
+        Document document = builder.parse(pomFile);
+        Element project = document.getDocumentElement();
+
+        Pom pom = new Pom();
+        Element parentElement = child(project, "parent");
+        Pom parent = parentElement == null ? null : loadParent(pomFile, parentElement);
+        if (parent != null) {
+            pom.getProperties().putAll(parent.getProperties());
+            pom.getDependencyManagement().putAll(parent.getDependencyManagement());
+            pom.getDependencies().addAll(parent.getDependencies());
+        }
+
+        pom.setGroupId(firstNonNull(text(project, "groupId"), text(parentElement, "groupId")));
+        pom.setArtifactId(text(project, "artifactId"));
+        pom.setVersion(firstNonNull(text(project, "version"), text(parentElement, "version")));
+
+        Element properties = child(project, "properties");
+        if (properties != null) {
+            for (Element property : children(properties)) {
+                pom.getProperties().put(property.getTagName(), property.getTextContent().trim());
+            }
+        }
+        pom.getProperties().put("project.groupId", pom.getGroupId());
+        pom.getProperties().put("project.artifactId", pom.getArtifactId());
+        pom.getProperties().put("project.version", pom.getVersion());
+        pom.getProperties().put("pom.version", pom.getVersion());
+        if (parentElement != null) {
+            pom.getProperties().put("project.parent.version", text(parentElement, "version"));
+            pom.getProperties().put("project.parent.groupId", text(parentElement, "groupId"));
+        }
+
+        Element management = child(child(project, "dependencyManagement"), "dependencies");
+        for (Element element : children(management)) {
+            Dependency dependency = parseDependency(element, pom.getProperties());
+            if ("import".equals(dependency.getScope()) && "pom".equals(dependency.getType())) {
+                Pom bom = dependency.getVersion() == null ? null
+                        : loadPom(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersion());
+                if (bom != null) {
+                    bom.getDependencyManagement().forEach(pom.getDependencyManagement()::putIfAbsent);
+                }
+            } else {
+                pom.getDependencyManagement().put(dependency.key(), dependency);
+            }
+        }
+
+        for (Element element : children(child(project, "dependencies"))) {
+            Dependency dependency = parseDependency(element, pom.getProperties());
+            Dependency managed = pom.getDependencyManagement().get(dependency.key());
+            if (managed != null) {
+                if (dependency.getVersion() == null) {
+                    dependency.setVersion(managed.getVersion());
+                }
+                if (dependency.getScope() == null) {
+                    dependency.setScope(managed.getScope());
+                }
+                dependency.getExclusions().addAll(managed.getExclusions());
+            }
+            pom.getDependencies().add(dependency);
+        }
+        return pom;
+    }
+
+    /**
+     * 父pom优先按 relativePath（默认 ../pom.xml）查找，坐标不一致时从本地仓库读取
+     */
+    private Pom loadParent(File pomFile, Element parentElement) {
+        String groupId = text(parentElement, "groupId");
+        String artifactId = text(parentElement, "artifactId");
+        String version = text(parentElement, "version");
+        String relativePath = text(parentElement, "relativePath");
+        File parentFile = new File(pomFile.getAbsoluteFile().getParentFile(),
+                relativePath == null ? "../pom.xml" : relativePath);
+        if (parentFile.isDirectory()) {
+            parentFile = new File(parentFile, "pom.xml");
+        }
+        if (parentFile.isFile()) {
+            Pom parent = loadPom(parentFile);
+            if (parent != null && artifactId != null && artifactId.equals(parent.getArtifactId())) {
+                return parent;
+            }
+        }
+        return groupId == null || artifactId == null || version == null ? null : loadPom(groupId, artifactId, version);
+    }
+
+    private Dependency parseDependency(Element element, Map<String, String> properties) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(interpolate(text(element, "groupId"), properties));
+        dependency.setArtifactId(interpolate(text(element, "artifactId"), properties));
+        dependency.setVersion(interpolate(text(element, "version"), properties));
+        String type = interpolate(text(element, "type"), properties);
+        if (type != null) {
+            dependency.setType(type);
+        }
+        dependency.setClassifier(interpolate(text(element, "classifier"), properties));
+        dependency.setScope(interpolate(text(element, "scope"), properties));
+        dependency.setSystemPath(interpolate(text(element, "systemPath"), properties));
+        dependency.setOptional("true".equals(interpolate(text(element, "optional"), properties)));
+        for (Element exclusion : children(child(element, "exclusions"))) {
+            dependency.getExclusions().add(interpolate(text(exclusion, "groupId"), properties)
+                    + ":" + interpolate(text(exclusion, "artifactId"), properties));
+        }
+        return dependency;
+    }
+
+    private static Dependency copyWithVersion(Dependency source, String version) {
+        Dependency copy = new Dependency();
+        copy.setGroupId(source.getGroupId());
+        copy.setArtifactId(source.getArtifactId());
+        copy.setVersion(version);
+        copy.setType(source.getType());
+        copy.setClassifier(source.getClassifier());
+        copy.setScope(source.getScope());
+        copy.setSystemPath(source.getSystemPath());
+        copy.setOptional(source.isOptional());
+        copy.getExclusions().addAll(source.getExclusions());
+        return copy;
+    }
+
+    /**
+     * 替换 ${...} 属性，支持嵌套引用；未定义的属性保持原样
+     */
+    private static String interpolate(String value, Map<String, String> properties) {
+        if (value == null) {
+            return null;
+        }
+        String result = value;
+        for (int i = 0; i < 10 && result.contains("${"); i++) {
+            Matcher matcher = PROPERTY.matcher(result);
+            StringBuffer buffer = new StringBuffer();
+            boolean replaced = false;
+            while (matcher.find()) {
+                String property = properties.get(matcher.group(1));
+                if (property == null) {
+                    property = System.getProperty(matcher.group(1));
+                }
+                if (property != null) {
+                    replaced = true;
+                }
+                matcher.appendReplacement(buffer, Matcher.quoteReplacement(property != null ? property : matcher.group()));
+            }
+            matcher.appendTail(buffer);
+            result = buffer.toString();
+            if (!replaced) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static String firstNonNull(String first, String second) {
+        return first != null ? first : second;
+    }
+
+    private static Element child(Element parent, String name) {
+        if (parent == null) {
+            return null;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && name.equals(((Element) node).getTagName())) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+
+    private static List<Element> children(Element parent) {
+        List<Element> elements = new ArrayList<>();
+        if (parent == null) {
+            return elements;
+        }
+        NodeList nodes = parent.getChildNodes();
+        for (int i = 0; i < nodes.getLength(); i++) {
+            if (nodes.item(i) instanceof Element) {
+                elements.add((Element) nodes.item(i));
+            }
+        }
+        return elements;
+    }
+
+    private static String text(Element parent, String name) {
+        Element element = child(parent, name);
+        if (element == null) {
+            return null;
+        }
+        String text = element.getTextContent().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
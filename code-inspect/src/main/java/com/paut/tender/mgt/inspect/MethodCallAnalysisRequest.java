@@ -0,0 +1,17 @@
+package com.paut.tender.mgt.inspect;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量分析中的一项：分析文件中指定行范围的方法调用
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MethodCallAnalysisRequest {
+    private String filePath;
+    private int startLine;
+    private int endLine;
+}
@@ -11,4 +11,5 @@ public class MethodCallAnalysisResult {
     private int startLine;
     private int endLine;
     private List<MethodCallInfo> methodCalls = new ArrayList<>();
-}
\ No newline at end of file
+    private String errorMessage;  // 批量分析中该项失败时的原因
+}
@@ -1,181 +1,191 @@
 package com.paut.tender.mgt.inspect;
 
 import com.github.javaparser.JavaParser;
-import com.github.javaparser.ParseResult;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.Expression;
 import com.github.javaparser.ast.expr.FieldAccessExpr;
 import com.github.javaparser.ast.expr.MethodCallExpr;
-import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
-import com.github.javaparser.resolution.UnsolvedSymbolException;
-import com.github.javaparser.resolution.declarations.*;
-import com.github.javaparser.resolution.types.ResolvedType;
 import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
-
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 方法调用分析器，可被多个线程同时使用
+ * 1. 解析和符号求解在分析上下文（AnalysisContext）中进行，每个上下文有独立的JavaParser、类型求解器和CompilationUnit缓存；
+ *    文件按路径固定分配到一个上下文，同一文件的分析串行执行，不同上下文的文件可以并行分析
+ * 2. classFilePathMap 是只读快照，刷新时整体替换；解析结果缓存和缺失符号登记在所有上下文间共享
+ * 3. 源码变化和缓存清理需要独占，等待进行中的分析结束后执行
+ */
 @Slf4j
 @Data
-public class MethodCallAnalyzer {
+public class MethodCallAnalyzer implements Closeable {
 
+    // 第一个分析上下文的JavaParser，不是线程安全的，仅供单线程使用
     public final JavaParser javaParser;
+    private final InspectConfig config;
     private final List<String> projectModules;
 
+    // 按文件路径缓存CompilationUnit（第一个分析上下文的缓存）
+    private final CompilationUnitCache compilationUnitCache;
+
+    // 方法调用和scope类型的解析结果缓存
+    private final ResolutionCache resolutionCache;
+
+    // 本次运行中无法解析的符号，用于快速失败和汇总
+    private final UnresolvedSymbolRegistry unresolvedSymbols = new UnresolvedSymbolRegistry();
+
+    // 持久化的类文件索引，负责校验和增量刷新classFilePathMap
+    private final ClassFileIndex classFileIndex;
+
+    // 从pom.xml解析出的依赖jar的类型索引，各分析上下文的类型求解器共用
+    private final JarTypeIndex jarTypeIndex;
+
+    // 分析上下文，按需创建；第一个上下文在构造时创建
+    private final AnalysisContext[] contexts;
+
+    // 分析持有读锁，源码变化和缓存清理持有写锁
+    private final ReentrantReadWriteLock stateLock = new ReentrantReadWriteLock();
+
     // 1.添加一个成员变量map，用于存储java类文件FilePath Map，ClassqualifiedName为map
-    private Map<String, String> classFilePathMap;
+    // 只读快照，刷新时整体替换
+    private volatile Map<String, String> classFilePathMap;
 
     // 分析调用者的类
     private JavaParserFacade facade;
 
     public MethodCallAnalyzer() {
-        CombinedTypeSolver combinedTypeSolver = new CombinedTypeSolver();
-        combinedTypeSolver.add(new ReflectionTypeSolver());
-        
-        // 添加项目模块的源码路径
-        this.projectModules = Arrays.asList(
-        "k:\\gitlab\\tender-mgt\\tender-api\\src\\main\\java",
-            "k:\\gitlab\\tender-mgt\\tender-business\\src\\main\\java",
-            "k:\\gitlab\\tender-mgt\\tender-contract\\src\\main\\java",
-            "k:\\gitlab\\tender-mgt\\tender-job\\src\\main\\java"
-        );
-        
-        for (String modulePath : projectModules) {
-            File moduleDir = new File(modulePath);
-            if (moduleDir.exists()) {
-                combinedTypeSolver.add(new JavaParserTypeSolver(moduleDir));
-            }
-        }
-        
-        // 添加Maven依赖的jar包
-        addMavenDependencies(combinedTypeSolver);
-        
-        JavaSymbolSolver symbolSolver = new JavaSymbolSolver(combinedTypeSolver);
-        this.javaParser = new JavaParser();
-        this.javaParser.getParserConfiguration().setSymbolResolver(symbolSolver);
+        this(new InspectConfig());
+    }
 
-        facade = JavaParserFacade.get(combinedTypeSolver);
+    public MethodCallAnalyzer(InspectConfig config) {
+        this.config = config;
+        this.projectModules = config.getProjectModules();
+        this.jarTypeIndex = new JarTypeIndex(resolveDependencyJars(),
+                new File(config.getCacheDirectory(), config.getJarTypeIndexCacheFileName()));
+
+        this.contexts = new AnalysisContext[Math.max(1, config.getAnalysisThreads())];
+        this.contexts[0] = createContext();
+        this.javaParser = contexts[0].getJavaParser();
+        this.compilationUnitCache = contexts[0].getCompilationUnitCache();
+        facade = JavaParserFacade.get(contexts[0].getTypeSolver());
+
+        this.resolutionCache = new ResolutionCache(config.getResolutionCacheSize());
+        this.classFileIndex = new ClassFileIndex(config,
+                new File(config.getCacheDirectory(), config.getClassMapCacheFileName()));
         
         // 初始化compilationUnitMap
-        this.classFilePathMap = new HashMap<>();
         initializeCompilationUnitMap();
     }
 
     /**
-     * 初始化CompilationUnit映射，优先从缓存读取，否则扫描所有项目模块中的Java文件
+     * 创建分析上下文，CompilationUnit缓存容量在各上下文间平分（文件只会分配到一个上下文）
      */
-    private void initializeCompilationUnitMap() {
-        String cacheFilePath = "K:\\gitlab\\tender-mgt\\code-inspect\\src\\cache\\classMapCache.json";
-        File cacheFile = new File(cacheFilePath);
-        
-        // 检查缓存文件是否存在
-        if (cacheFile.exists()) {
-            log.info("发现缓存文件，从缓存加载CompilationUnit映射: {}", cacheFilePath);
-            try {
-                loadFromCache(cacheFilePath);
-                log.info("从缓存加载CompilationUnit映射完成，共加载 {} 个类文件", classFilePathMap.size());
-                return;
-            } catch (Exception e) {
-                log.warn("从缓存加载失败，将进行正常初始化: {}", e.getMessage());
-                // 清空可能部分加载的数据
-                classFilePathMap.clear();
+    private AnalysisContext createContext() {
+        TypeSolverCaches caches = new TypeSolverCaches();
+        LazyJarTypeSolver jarTypeSolver = jarTypeIndex.getJarCount() > 0 ? new LazyJarTypeSolver(jarTypeIndex) : null;
+        CombinedTypeSolver typeSolver = createTypeSolver(caches, jarTypeSolver);
+        JavaParser parser = createJavaParser(typeSolver);
+        int cacheSize = Math.max(16, config.getCompilationUnitCacheSize() / contexts.length);
+        return new AnalysisContext(parser, typeSolver, jarTypeSolver, caches, new CompilationUnitCache(parser, cacheSize));
+    }
+
+    /**
+     * 文件所属的分析上下文，不存在时创建
+     */
+    private AnalysisContext contextFor(String absolutePath) {
+        int index = (absolutePath.hashCode() & Integer.MAX_VALUE) % contexts.length;
+        synchronized (contexts) {
+            if (contexts[index] == null) {
+                contexts[index] = createContext();
             }
+            return contexts[index];
         }
+    }
+
+    /**
+     * 已创建的分析上下文，调用方需持有写锁
+     */
+    private List<AnalysisContext> createdContexts() {
+        List<AnalysisContext> created = new ArrayList<>();
+        synchronized (contexts) {
+            for (AnalysisContext context : contexts) {
+                if (context != null) {
+                    created.add(context);
+                }
+            }
+        }
+        return created;
+    }
+
+    /**
+     * 创建类型求解器：JDK、项目模块源码以及Maven依赖的jar包
+     */
+    private CombinedTypeSolver createTypeSolver(TypeSolverCaches caches, LazyJarTypeSolver jarTypeSolver) {
+        CombinedTypeSolver combinedTypeSolver = caches.newCombinedTypeSolver();
+        combinedTypeSolver.add(new ReflectionTypeSolver());
         
-        // 缓存不存在或加载失败，进行正常初始化
-        log.info("开始遍历文件初始化CompilationUnit映射...");
-        
+        // 添加项目模块的源码路径
         for (String modulePath : projectModules) {
             File moduleDir = new File(modulePath);
             if (moduleDir.exists()) {
-                scanJavaFiles(moduleDir);
-            } else {
-                log.warn("模块路径不存在: {}", modulePath);
+                combinedTypeSolver.add(caches.newJavaParserTypeSolver(moduleDir));
             }
         }
         
-        log.info("CompilationUnit映射初始化完成，共加载 {} 个类文件", classFilePathMap.size());
-        
-        // 保存到缓存文件
-        try {
-            saveToCache(cacheFilePath);
-            log.info("CompilationUnit映射已保存到缓存文件: {}", cacheFilePath);
-        } catch (Exception e) {
-            log.warn("保存缓存文件失败: {}", e.getMessage());
+        // 添加Maven依赖的jar包，通过类型索引按需加载
+        if (jarTypeSolver != null) {
+            combinedTypeSolver.add(jarTypeSolver);
         }
+        return combinedTypeSolver;
     }
-    
+
+    private static JavaParser createJavaParser(CombinedTypeSolver combinedTypeSolver) {
+        JavaParser parser = new JavaParser();
+        parser.getParserConfiguration().setSymbolResolver(new JavaSymbolSolver(combinedTypeSolver));
+        return parser;
+    }
+
     /**
-     * 递归扫描目录下的所有Java文件并解析为CompilationUnit
+     * 初始化类文件映射，缓存的索引经过校验后只重新扫描新增和修改过的文件
      */
-    private void scanJavaFiles(File directory) {
-        if (!directory.isDirectory()) {
-            return;
-        }
-        
-        File[] files = directory.listFiles();
-        if (files == null) {
-            return;
-        }
-        
-        for (File file : files) {
-            if (file.isDirectory()) {
-                // 递归扫描子目录
-                scanJavaFiles(file);
-            } else if (file.getName().endsWith(".java")) {
-                // 解析Java文件
-                parseJavaFile(file);
-            }
-        }
+    private void initializeCompilationUnitMap() {
+        this.classFilePathMap = classFileIndex.refresh();
+        log.info("CompilationUnit映射初始化完成，共加载 {} 个类文件", classFilePathMap.size());
     }
-    
+
     /**
-     * 解析单个Java文件并添加到映射中
+     * 获取文件的CompilationUnit，内容未变化的文件不会重复解析
+     * 返回的CompilationUnit属于某个分析上下文，在其上进行符号解析不是线程安全的
+     *
+     * @param file Java源文件
+     * @return 编译单元
      */
-    private void parseJavaFile(File javaFile) {
+    public CompilationUnit getCompilationUnit(File file) {
+        AnalysisContext context = contextFor(file.getAbsolutePath());
+        stateLock.readLock().lock();
+        context.getLock().lock();
         try {
-            ParseResult<CompilationUnit> parseResult = javaParser.parse(javaFile);
-            if (parseResult.isSuccessful() && parseResult.getResult().isPresent()) {
-                CompilationUnit cu = parseResult.getResult().get();
-                
-                // 获取包名和类名来构建qualifiedName
-                String packageName = cu.getPackageDeclaration()
-                    .map(pd -> pd.getNameAsString())
-                    .orElse("");
-                
-                // 查找所有类和接口声明
-                cu.findAll(ClassOrInterfaceDeclaration.class).forEach(classDecl -> {
-                    String className = classDecl.getNameAsString();
-                    String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
-                    
-                    // 将qualifiedName作为key，CompilationUnit作为value存储
-                    classFilePathMap.put(qualifiedName, javaFile.getAbsolutePath());
-                    log.debug("已加载类: {} -> {}", qualifiedName, javaFile.getAbsolutePath());
-                });
-                
-            } else {
-                log.warn("解析Java文件失败: {}", javaFile.getAbsolutePath());
-                if (parseResult.getProblems() != null) {
-                    parseResult.getProblems().forEach(problem -> 
-                        log.warn("解析问题: {}", problem.getMessage()));
-                }
-            }
-        } catch (Exception e) {
-            log.error("解析Java文件时发生错误: {}, 错误: {}", javaFile.getAbsolutePath(), e.getMessage());
+            return context.parse(file);
+        } finally {
+            context.getLock().unlock();
+            stateLock.readLock().unlock();
         }
     }
     
@@ -187,37 +197,40 @@ public class MethodCallAnalyzer {
         return new HashSet<>(classFilePathMap.keySet());
     }
 
-    private void addMavenDependencies(CombinedTypeSolver combinedTypeSolver) {
-        try {
-            // 方法1：从Maven本地仓库添加常用依赖
-            String userHome = System.getProperty("user.home");
-            String mavenRepo = userHome + "/.m2/repository";
-            
-            // 添加Spring相关jar包
-//            addJarIfExists(combinedTypeSolver, mavenRepo + "/org/springframework/spring-context/5.3.21/spring-context-5.3.21.jar");
-//            addJarIfExists(combinedTypeSolver, mavenRepo + "/org/springframework/spring-core/5.3.21/spring-core-5.3.21.jar");
-//            paut\ifs\ifs-sdk-core\2.2.0-SNAPSHOT\ifs-sdk-core-2.2.0-SNAPSHOT.jar"
-            // 添加项目特定的依赖（根据pom.xml中的依赖）
-           addJarIfExists(combinedTypeSolver, mavenRepo + "/com/paut/ifs/ifs-sdk-core/2.2.0-SNAPSHOT/ifs-sdk-core-2.2.0-SNAPSHOT.jar");
-            
-            // 方法2：扫描整个Maven本地仓库（性能较差，但覆盖全面）
-            // scanMavenRepository(combinedTypeSolver, mavenRepo);
-            
-        } catch (Exception e) {
-            log.warn("添加Maven依赖时发生错误: {}", e.getMessage());
+    /**
+     * 解析依赖jar：根据项目pom.xml从本地仓库离线解析的依赖，加上配置的额外jar
+     */
+    private List<File> resolveDependencyJars() {
+        List<File> jars = new ArrayList<>();
+        if (config.isResolveMavenDependencies()) {
+            Set<File> pomFiles = new LinkedHashSet<>();
+            for (String pomFile : config.getProjectPomFiles()) {
+                pomFiles.add(new File(pomFile).getAbsoluteFile());
+            }
+            if (pomFiles.isEmpty()) {
+                for (String modulePath : projectModules) {
+                    File pomFile = MavenDependencyResolver.findModulePom(new File(modulePath));
+                    if (pomFile != null) {
+                        pomFiles.add(pomFile);
+                    }
+                }
+            }
+            try {
+                jars.addAll(new MavenDependencyResolver(new File(config.getMavenRepository()))
+                        .resolveJars(new ArrayList<>(pomFiles)));
+            } catch (Exception e) {
+                log.warn("解析Maven依赖时发生错误: {}", e.getMessage());
+            }
         }
-    }
-
-    private void addJarIfExists(CombinedTypeSolver combinedTypeSolver, String jarPath) {
-        try {
+        for (String jarPath : config.getAdditionalJars()) {
             File jarFile = new File(jarPath);
-            if (jarFile.exists()) {
-                combinedTypeSolver.add(new JarTypeSolver(jarPath));
-                log.info("已添加jar依赖: {}", jarPath);
+            if (jarFile.isFile() && !jars.contains(jarFile)) {
+                jars.add(jarFile);
+            } else if (!jarFile.isFile()) {
+                log.warn("额外依赖jar不存在: {}", jarPath);
             }
-        } catch (Exception e) {
-            log.warn("无法添加jar依赖 {}: {}", jarPath, e.getMessage());
         }
+        return jars;
     }
 
     /**
@@ -229,37 +242,174 @@ public class MethodCallAnalyzer {
      * @return 方法调用分析结果
      */
     public MethodCallAnalysisResult analyzeMethodCalls(String filePath, int startLine, int endLine) {
+        MethodCallAnalysisRequest request = new MethodCallAnalysisRequest(filePath, startLine, endLine);
+        MethodCallAnalysisResult result = newResult(request);
+        analyzeMethodCalls(request, (ignored, callInfo) -> result.getMethodCalls().add(callInfo));
+        return result;
+    }
+
+    /**
+     * 分析指定文件中指定行范围的方法调用，每解析完一个方法调用即交给 sink，不在内存中累积结果
+     *
+     * @param request 分析请求
+     * @param sink    方法调用的接收方
+     */
+    public void analyzeMethodCalls(MethodCallAnalysisRequest request, MethodCallSink sink) {
+        File file = new File(request.getFilePath());
+        AnalysisContext context = contextFor(file.getAbsolutePath());
+        stateLock.readLock().lock();
+        context.getLock().lock();
         try {
-            File file = new File(filePath);
-            if (!file.exists()) {
-                throw new IllegalArgumentException("文件不存在: " + filePath);
-            }
+            CompilationUnit cu = context.parse(file);
+            analyzeMethodCalls(cu, request, sink);
+        } catch (Exception e) {
+            log.error("分析方法调用时发生错误", e);
+            throw new RuntimeException("分析方法调用失败: " + e.getMessage(), e);
+        } finally {
+            context.getLock().unlock();
+            stateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 批量分析方法调用：按文件分组，每个文件只解析一次，同一文件的所有范围共用一个CompilationUnit
+     * 开启 parallelBatchAnalysis 时按分析上下文分组并行，每组在各自的上下文中串行处理
+     * 单个文件失败不影响其他文件，失败原因记录在对应结果的 errorMessage 中
+     *
+     * @param requests 分析请求
+     * @return 与请求一一对应的分析结果
+     */
+    public List<MethodCallAnalysisResult> analyzeMethodCalls(List<MethodCallAnalysisRequest> requests) {
+        Map<String, List<Integer>> requestsByFile = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String filePath = new File(requests.get(i).getFilePath()).getAbsolutePath();
+            requestsByFile.computeIfAbsent(filePath, key -> new ArrayList<>()).add(i);
+        }
+        Map<AnalysisContext, List<String>> filesByContext = new LinkedHashMap<>();
+        for (String filePath : requestsByFile.keySet()) {
+            filesByContext.computeIfAbsent(contextFor(filePath), key -> new ArrayList<>()).add(filePath);
+        }
 
-            ParseResult<CompilationUnit> parseResult = javaParser.parse(file);
-            if (!parseResult.isSuccessful()) {
-                throw new RuntimeException("解析文件失败: " + filePath);
+        MethodCallAnalysisResult[] results = new MethodCallAnalysisResult[requests.size()];
+        stateLock.readLock().lock();
+        try {
+            if (!config.isParallelBatchAnalysis() || filesByContext.size() < 2) {
+                filesByContext.forEach((context, files) ->
+                        analyzeFiles(context, files, requestsByFile, requests, results));
+            } else {
+                ForkJoinPool pool = new ForkJoinPool(Math.min(filesByContext.size(), contexts.length));
+                try {
+                    pool.submit(() -> filesByContext.entrySet().parallelStream().forEach(entry ->
+                            analyzeFiles(entry.getKey(), entry.getValue(), requestsByFile, requests, results)
+                    )).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("批量分析被中断", e);
+                } catch (ExecutionException e) {
+                    throw new RuntimeException("批量分析失败: " + e.getCause().getMessage(), e.getCause());
+                } finally {
+                    pool.shutdown();
+                }
             }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        logBatchStats(results);
+        return Arrays.asList(results);
+    }
 
-            CompilationUnit cu = parseResult.getResult().orElse(null);
-            if (cu == null) {
-                throw new RuntimeException("无法获取编译单元: " + filePath);
+    /**
+     * 在同一分析上下文中依次分析多个文件
+     */
+    private void analyzeFiles(AnalysisContext context, List<String> files, Map<String, List<Integer>> requestsByFile,
+                              List<MethodCallAnalysisRequest> requests, MethodCallAnalysisResult[] results) {
+        context.getLock().lock();
+        try {
+            for (String filePath : files) {
+                analyzeFile(filePath, requestsByFile.get(filePath), requests, results,
+                        () -> context.parse(new File(filePath)));
             }
+        } finally {
+            context.getLock().unlock();
+        }
+    }
 
-            MethodCallAnalysisResult result = new MethodCallAnalysisResult();
-            result.setFilePath(filePath);
-            result.setStartLine(startLine);
-            result.setEndLine(endLine);
-            // 查找指定行范围内的方法调用
-            cu.accept(new MethodCallVisitor(startLine, endLine, result), null);
+    /**
+     * 每次批量分析只输出一行统计，缺失符号的完整汇总在运行结束时由 logUnresolvedSymbolSummary() 输出
+     */
+    private void logBatchStats(MethodCallAnalysisResult[] results) {
+        int calls = 0;
+        int unresolved = 0;
+        for (MethodCallAnalysisResult result : results) {
+            for (MethodCallInfo call : result.getMethodCalls()) {
+                calls++;
+                if (Boolean.FALSE.equals(call.getResolved())) {
+                    unresolved++;
+                }
+            }
+        }
+        log.info("批量分析完成: {} 个请求，{} 个方法调用，其中未解析 {} 个；解析缓存命中 {} 次（其中解析失败 {} 次），未命中 {} 次，缓存 {} 条",
+                results.length, calls, unresolved, resolutionCache.getHits(), resolutionCache.getNegativeHits(),
+                resolutionCache.getMisses(), resolutionCache.size());
+    }
 
-            return result;
+    /**
+     * 输出本次运行中缺失符号导致的解析失败汇总，运行结束时调用（命令行分析结束、常驻服务停止）
+     */
+    public void logUnresolvedSymbolSummary() {
+        unresolvedSymbols.logSummary();
+    }
 
+    /**
+     * 分析同一文件上的所有请求
+     */
+    private void analyzeFile(String filePath, List<Integer> indexes, List<MethodCallAnalysisRequest> requests,
+                             MethodCallAnalysisResult[] results, Supplier<CompilationUnit> parser) {
+        CompilationUnit cu = null;
+        String errorMessage = null;
+        try {
+            cu = parser.get();
         } catch (Exception e) {
-            log.error("分析方法调用时发生错误", e);
-            throw new RuntimeException("分析方法调用失败: " + e.getMessage(), e);
+            log.error("解析文件失败: {}, 错误: {}", filePath, e.getMessage());
+            errorMessage = e.getMessage();
+        }
+
+        for (int index : indexes) {
+            MethodCallAnalysisRequest request = requests.get(index);
+            if (cu == null) {
+                results[index] = newResult(request);
+                results[index].setErrorMessage(errorMessage);
+                continue;
+            }
+            try {
+                results[index] = analyzeMethodCalls(cu, request);
+            } catch (Exception e) {
+                log.error("分析方法调用时发生错误: {} [{}-{}]", filePath, request.getStartLine(), request.getEndLine(), e);
+                results[index] = newResult(request);
+                results[index].setErrorMessage(e.getMessage());
+            }
         }
     }
 
+    private MethodCallAnalysisResult analyzeMethodCalls(CompilationUnit cu, MethodCallAnalysisRequest request) {
+        MethodCallAnalysisResult result = newResult(request);
+        analyzeMethodCalls(cu, request, (ignored, callInfo) -> result.getMethodCalls().add(callInfo));
+        return result;
+    }
+
+    private void analyzeMethodCalls(CompilationUnit cu, MethodCallAnalysisRequest request, MethodCallSink sink) {
+        // 查找指定行范围内的方法调用
+        cu.accept(new MethodCallVisitor(request, sink, ResolutionCache.fileKey(cu)), null);
+    }
+
+    private static MethodCallAnalysisResult newResult(MethodCallAnalysisRequest request) {
+        MethodCallAnalysisResult result = new MethodCallAnalysisResult();
+        result.setFilePath(request.getFilePath());
+        result.setStartLine(request.getStartLine());
+        result.setEndLine(request.getEndLine());
+        return result;
+    }
+
     /**
      * 按需重新生成class文件
      * @throws IOException 
@@ -289,17 +439,19 @@ public class MethodCallAnalyzer {
     }
 
     /**
-     * 方法调用访问器
+     * 方法调用访问器，范围与指定行不重叠的成员和语句不会被遍历
+     * 每个方法调用解析完成后立即交给 sink
      */
-    private class MethodCallVisitor extends VoidVisitorAdapter<Void> {
-        private final int startLine;
-        private final int endLine;
-        private final MethodCallAnalysisResult result;
-
-        public MethodCallVisitor(int startLine, int endLine, MethodCallAnalysisResult result) {
-            this.startLine = startLine;
-            this.endLine = endLine;
-            this.result = result;
+    private class MethodCallVisitor extends LineRangeVisitorAdapter<Void> {
+        private final MethodCallAnalysisRequest request;
+        private final MethodCallSink sink;
+        private final String fileKey;
+
+        public MethodCallVisitor(MethodCallAnalysisRequest request, MethodCallSink sink, String fileKey) {
+            super(request.getStartLine(), request.getEndLine());
+            this.request = request;
+            this.sink = sink;
+            this.fileKey = fileKey;
         }
 
         @Override
@@ -354,26 +506,32 @@ public class MethodCallAnalyzer {
                             });
 
                         } catch (Exception e) {
-                            System.out.println("参数: " + param + " → 无法解析，原因: " + e.getMessage());
+                            log.debug("参数: {} → 无法解析，原因: {}", param, e.getMessage());
                         }
                     }
 
                     callInfo.setParameterTypes(parameterTypes);
 
-                    try {
-                        // 解析方法调用
-                        ResolvedMethodDeclaration resolved = methodCall.resolve();
+                    // scope类型已确认缺失时直接判定为未解析，否则解析方法调用（同一文件内容中同一位置的结果会被缓存）
+                    String scopeTypeName = UnresolvedSymbolRegistry.scopeTypeName(methodCall);
+                    boolean failFast = unresolvedSymbols.isMissingType(scopeTypeName);
+                    ResolutionCache.CallResolution resolved;
+                    if (failFast) {
+                        resolved = new ResolutionCache.CallResolution();
+                        resolved.setStatus(ResolutionCache.Status.UNSOLVED);
+                        resolved.setMessage("Unsolved symbol: " + scopeTypeName + "（已知缺失类型，跳过解析）");
+                        resolved.setMissingSymbol(scopeTypeName);
+                    } else {
+                        resolved = resolutionCache.resolveCall(fileKey, methodCall);
+                    }
+                    callInfo.setMethodName(methodCall.getNameAsString());
+                    callInfo.setLine(line);
+                    callInfo.setColumn(methodCall.getBegin().get().column);
 
-                        callInfo.setMethodName(methodCall.getNameAsString());
-                        callInfo.setLine(line);
-                        callInfo.setColumn(methodCall.getBegin().get().column);
-                        callInfo.setDeclaringClass(resolved.getClassName());
+                    if (resolved.getStatus() == ResolutionCache.Status.SOLVED) {
+                        callInfo.setDeclaringClass(resolved.getDeclaringClass());
                         callInfo.setQualifiedName(resolved.getQualifiedName());
-                        // 获取完全限定类名：包名 + 类名
-                        String classQualifiedName = resolved.getPackageName().isEmpty() ? 
-                            resolved.getClassName() : 
-                            resolved.getPackageName() + "." + resolved.getClassName();
-                        callInfo.setClassQualifiedName(classQualifiedName);
+                        callInfo.setClassQualifiedName(resolved.getClassQualifiedName());
                         callInfo.setPackageName(resolved.getPackageName());
                         
                         // 获取参数类型
@@ -383,28 +541,34 @@ public class MethodCallAnalyzer {
 //                        }
 //                        callInfo.setParameterTypes(parameterTypes);
                         
-                        result.getMethodCalls().add(callInfo);
-                        
-                        log.info("找到方法调用: {} 在类 {} 中，行号: {}", 
-                                methodCall.getNameAsString(), resolved.getClassName(), line);
+                        log.debug("找到方法调用: {} 在类 {} 中，行号: {}", 
+                                methodCall.getNameAsString(), resolved.getDeclaringClass(), line);
                                 
-                    } catch (UnsolvedSymbolException e) {
+                    } else if (resolved.getStatus() == ResolutionCache.Status.UNSOLVED) {
                         // 专门处理符号无法解析的情况
-                        log.warn("无法解析方法调用符号: {} 在行 {}, 可能缺少依赖jar包", 
-                                methodCall.getNameAsString(), line);
-
-                        callInfo.setMethodName(methodCall.getNameAsString());
-                        callInfo.setLine(line);
-                        callInfo.setColumn(methodCall.getBegin().get().column);
                         callInfo.setDeclaringClass("未解析-可能缺少依赖");
                         callInfo.setResolved(false);
-//                        callInfo.setErrorMessage("UnsolvedSymbol: " + e.getMessage());
+                        String missingSymbol = resolved.getMissingSymbol();
                         
                         // 尝试通过getScope获取调用方法所在的类信息
                         if (methodCall.getScope().isPresent()){
-                            ScopeInfo scopeInfo = extractScopeInfo(methodCall.getScope().get());
+                            Expression scope = methodCall.getScope().get();
+                            ResolutionCache.ScopeResolution scopeType;
+                            if (failFast) {
+                                scopeType = new ResolutionCache.ScopeResolution();
+                                scopeType.setMissingSymbol(scopeTypeName);
+                            } else {
+                                scopeType = resolutionCache.resolveScope(fileKey, scope);
+                                // 缺失的正是scope类型本身时才登记为缺失类型；
+                                // 如 List<Missing> 缺失的是类型参数，List 本身可以解析，不能登记
+                                if (!scopeType.isResolved() && scopeTypeName != null && scopeTypeName.equals(
+                                        UnresolvedSymbolRegistry.normalizeSymbol(scopeType.getMissingSymbol()))) {
+                                    unresolvedSymbols.markMissingType(scopeTypeName);
+                                }
+                            }
+                            ScopeInfo scopeInfo = extractScopeInfo(scope, scopeType);
                             String errorMsg = scopeInfo.getErrorMessage();
-                            errorMsg = "UnsolvedSymbol: " + e.getMessage() + errorMsg;
+                            errorMsg = "UnsolvedSymbol: " + resolved.getMessage() + errorMsg;
                             callInfo.setErrorMessage(errorMsg);
 
                             if(scopeInfo.getDeclaringClass() !=null) callInfo.setDeclaringClass(scopeInfo.getDeclaringClass());
@@ -412,56 +576,59 @@ public class MethodCallAnalyzer {
                             if(scopeInfo.getQualifiedName() !=null) callInfo.setQualifiedName(scopeInfo.getQualifiedName());
                         }
 
-                        result.getMethodCalls().add(callInfo);
-                    } catch (Exception e) {
+                        // 同一缺失符号只在第一次失败时输出警告，其余计入运行结束时的汇总
+                        if (unresolvedSymbols.recordFailure(missingSymbol, failFast)) {
+                            log.warn("无法解析方法调用符号: {} 在行 {}, 缺失符号: {}, 可能缺少依赖jar包",
+                                    methodCall.getNameAsString(), line, missingSymbol);
+                        } else {
+                            log.debug("无法解析方法调用符号: {} 在行 {}, 缺失符号: {}",
+                                    methodCall.getNameAsString(), line, missingSymbol);
+                        }
+                    } else {
                         // 处理其他类型的异常
                         log.warn("解析方法调用时发生其他错误: {} 在行 {}, 错误: {}", 
-                                methodCall.getNameAsString(), line, e.getMessage());
+                                methodCall.getNameAsString(), line, resolved.getMessage());
                         
                         // 即使无法完全解析，也记录基本信息
 
                         // 通过Scope中获取classQualifiedName
                         methodCall.getScope().ifPresent(scope->{
-                            String info = scope.calculateResolvedType().asReferenceType().getQualifiedName();
-                            callInfo.setQualifiedName(info);
-                            callInfo.setClassQualifiedName(info);
+                            ResolutionCache.ScopeResolution scopeType = resolutionCache.resolveScope(fileKey, scope);
+                            if (scopeType.isReferenceType()) {
+                                callInfo.setQualifiedName(scopeType.getTypeName());
+                                callInfo.setClassQualifiedName(scopeType.getTypeName());
+                            }
                         });
-                        callInfo.setMethodName(methodCall.getNameAsString());
-                        callInfo.setLine(line);
-                        callInfo.setColumn(methodCall.getBegin().get().column);
                         callInfo.setDeclaringClass("未知");
-                        callInfo.setErrorMessage("Exception："+e.getMessage());
+                        callInfo.setErrorMessage("Exception："+resolved.getMessage());
                         // 该情况下只能通过scope获取类信息，这种方式无法获取package
                         // callInfo.setPackageName();
-                        
-                        result.getMethodCalls().add(callInfo);
                     }
+                    sink.methodCall(request, callInfo);
                 }
             }
         }
 
         public ScopeInfo extractScopeInfo(Expression scope){
+            // 尝试解析scope的类型，引用类型取qualifiedName而不是describe()
+            return extractScopeInfo(scope, resolutionCache.resolveScope(fileKey, scope));
+        }
+
+        private ScopeInfo extractScopeInfo(Expression scope, ResolutionCache.ScopeResolution scopeType){
             ScopeInfo scopeInfo = new ScopeInfo();
             try {
                 // 尝试获取scope信息
                 String scopeDesc = "未知";
-                try {
-                    // 尝试解析scope的类型 - 使用显式类型声明替代var
-                    ResolvedType scopeType = scope.calculateResolvedType();
-                    // 获取scopeType的qualifiedName而不是describe()
-                    if (scopeType.isReferenceType()) {
-                        scopeDesc = scopeType.asReferenceType().getQualifiedName();
-                    } else {
-                        scopeDesc = scopeType.describe();
-                    }
-                    log.info("通过scope获取到调用类信息: {}", scopeDesc);
+                if (scopeType.isResolved()) {
+                    scopeDesc = scopeType.getTypeName();
+                    log.debug("通过scope获取到调用类信息: {}", scopeDesc);
                     scopeInfo.setQualifiedName(scopeDesc);
                     scopeInfo.setClassQualifiedName(scopeDesc);  // 新增：设置类的完全限定名
-                } catch (Exception scopeException) {
+                } else {
                     // 如果scope也无法解析，尝试获取scope的字符串表示
                     scopeDesc = scope.toString();
                     // callInfo.setQualifiedName("scopeException"+scopeInfo);
-                    log.info("scope无法完全解析，获取字符串表示: {}", scopeDesc);
+                    log.debug("scope无法完全解析，获取字符串表示: {}", scopeDesc);
                 }
 
                 // 将scope信息添加到错误消息中
@@ -480,56 +647,104 @@ public class MethodCallAnalyzer {
     }
 
     /**
-     * 将classFilePathMap保存到缓存文件
-     * @param cacheFilePath 缓存文件路径
-     * @throws Exception 保存失败时抛出异常
+     * 应用源码变化：只重新索引变化的文件，类型求解器内部缓存和缺失类型登记只清除变化的类型，
+     * 节点上的类型缓存和解析结果缓存全部清除
+     *
+     * @param changedPaths 新增、修改或删除的源文件或目录
      */
-    private void saveToCache(String cacheFilePath) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        
-        // 确保输出目录存在
-        File cacheFile = new File(cacheFilePath);
-        File parentDir = cacheFile.getParentFile();
-        if (!parentDir.exists()) {
-            parentDir.mkdirs();
+    public void applySourceChanges(Collection<Path> changedPaths) {
+        stateLock.writeLock().lock();
+        try {
+            ClassFileIndex.ChangeSet changeSet = classFileIndex.update(changedPaths);
+            if (changeSet.getFiles().isEmpty()) {
+                return;
+            }
+            this.classFilePathMap = classFileIndex.getClassFilePathMap();
+            for (AnalysisContext context : createdContexts()) {
+                context.getTypeSolverCaches().invalidate(changeSet.getFiles(), changeSet.getQualifiedTypeNames());
+            }
+            // 节点数据中缓存的类型和解析结果缓存都可能依赖变化前的类型声明（如 service.load().length() 依赖 load() 的返回类型），
+            // 调用所在文件本身没有变化，无法按文件或结果类型区分，全部清除
+            clearResolvedTypes();
+            int evicted = resolutionCache.size();
+            resolutionCache.clear();
+
+            Set<String> simpleNames = new HashSet<>();
+            for (String qualifiedName : changeSet.getQualifiedTypeNames()) {
+                simpleNames.add(qualifiedName.substring(qualifiedName.lastIndexOf('.') + 1));
+            }
+            unresolvedSymbols.forgetMissingTypes(simpleNames);
+            log.info("已应用源码变化: {} 个文件，清除解析缓存 {} 条", changeSet.getFiles().size(), evicted);
+        } finally {
+            stateLock.writeLock().unlock();
         }
-        
-        // 将Map转换为JSON并写入文件
-        objectMapper.writerWithDefaultPrettyPrinter().writeValue(cacheFile, classFilePathMap);
     }
 
     /**
-     * 从缓存文件加载classFilePath数据
-     * @param cacheFilePath 缓存文件路径
-     * @throws Exception 加载失败时抛出异常
+     * 清除各上下文CompilationUnit节点上缓存的类型，调用方需持有写锁
+     * JavaParserFacade 本身不保存解析结果（都记录在节点数据中），无需重建；
+     * 也不能调用 JavaParserFacade.clearInstances()，它是JVM全局的，会影响同一进程中的其他分析器
      */
-    private void loadFromCache(String cacheFilePath) throws Exception {
-        ObjectMapper objectMapper = new ObjectMapper();
-        
-        // 读取JSON文件内容
-        String jsonContent = new String(Files.readAllBytes(Paths.get(cacheFilePath)), "UTF-8");
-        
-        // 将JSON转换为Map<String, String>
-        TypeReference<Map<String, String>> typeRef = new TypeReference<Map<String, String>>() {};
-        Map<String, String> loadedMap = objectMapper.readValue(jsonContent, typeRef);
-        
-        // 赋值给compilationUnitMap
-        classFilePathMap.putAll(loadedMap);
+    private void clearResolvedTypes() {
+        for (AnalysisContext context : createdContexts()) {
+            context.getCompilationUnitCache().clearResolvedTypes();
+        }
+    }
+
+    /**
+     * 增量刷新类文件映射，源码发生变化后调用
+     */
+    public void refreshClassFilePathMap() {
+        stateLock.writeLock().lock();
+        try {
+            // 解析结果依赖其他文件，源码变化后全部失效
+            for (AnalysisContext context : createdContexts()) {
+                context.getTypeSolverCaches().invalidateAll();
+            }
+            clearResolvedTypes();
+            resolutionCache.clear();
+            unresolvedSymbols.reset();
+            initializeCompilationUnitMap();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
     }
 
     /**
      * 清除缓存文件并重新初始化
      */
     public void clearCacheAndReinitialize() {
-        String cacheFilePath = "K:\\gitlab\\tender-mgt\\code-inspect\\src\\output\\classMapCache.json";
-        File cacheFile = new File(cacheFilePath);
-        
-        if (cacheFile.exists()) {
-            cacheFile.delete();
-            log.info("缓存文件已删除: {}", cacheFilePath);
+        stateLock.writeLock().lock();
+        try {
+            classFileIndex.clear();
+            jarTypeIndex.clear();
+            for (AnalysisContext context : createdContexts()) {
+                // jar可能已被替换，释放打开的jar，之后按新的索引重新打开
+                context.close();
+                context.getTypeSolverCaches().invalidateAll();
+                context.getCompilationUnitCache().clear();
+            }
+            clearResolvedTypes();
+            resolutionCache.clear();
+            unresolvedSymbols.reset();
+            initializeCompilationUnitMap();
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 关闭各分析上下文打开的依赖jar，长期运行的服务停止时调用
+     */
+    @Override
+    public void close() {
+        stateLock.writeLock().lock();
+        try {
+            for (AnalysisContext context : createdContexts()) {
+                context.close();
+            }
+        } finally {
+            stateLock.writeLock().unlock();
         }
-        
-        classFilePathMap.clear();
-        initializeCompilationUnitMap();
     }
 }
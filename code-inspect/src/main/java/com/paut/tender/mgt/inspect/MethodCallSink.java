@@ -0,0 +1,15 @@
+package com.paut.tender.mgt.inspect;
+
+/**
+ * 方法调用的接收方，MethodCallVisitor 每解析完一个方法调用即交给接收方，不在内存中累积
+ * 同一次分析中按遍历顺序依次调用，不会被并发调用
+ */
+public interface MethodCallSink {
+
+    /**
+     * 接收一个已解析（或解析失败）的方法调用
+     * @param request  所属的分析请求
+     * @param callInfo 方法调用信息
+     */
+    void methodCall(MethodCallAnalysisRequest request, MethodCallInfo callInfo);
+}
@@ -0,0 +1,87 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * 以NDJSON（每行一个JSON对象）输出方法调用，每条记录写完即刷新
+ * 通过 JsonGenerator 直接逐字段写出，不构建中间对象，输出占用的内存与分析范围大小无关
+ *
+ * 记录格式：{"filePath":..,"startLine":..,"endLine":..,"methodName":..,"line":..,"column":..,...}
+ * 值为null的字段不输出
+ */
+public class NdjsonMethodCallWriter implements MethodCallSink, Closeable {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+    private long records;
+
+    /**
+     * @param out 输出流，关闭本对象时不会关闭该流
+     */
+    public NdjsonMethodCallWriter(OutputStream out) throws IOException {
+        this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 记录之间不使用默认的空格分隔，每条记录以换行结束
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public synchronized void methodCall(MethodCallAnalysisRequest request, MethodCallInfo callInfo) {
+        try {
+            generator.writeStartObject();
+            writeStringField("filePath", request.getFilePath());
+            generator.writeNumberField("startLine", request.getStartLine());
+            generator.writeNumberField("endLine", request.getEndLine());
+            writeStringField("methodName", callInfo.getMethodName());
+            generator.writeNumberField("line", callInfo.getLine());
+            generator.writeNumberField("column", callInfo.getColumn());
+            writeStringField("declaringClass", callInfo.getDeclaringClass());
+            writeStringField("qualifiedName", callInfo.getQualifiedName());
+            writeStringField("classQualifiedName", callInfo.getClassQualifiedName());
+            writeStringField("packageName", callInfo.getPackageName());
+            if (callInfo.getParameterTypes() != null) {
+                generator.writeArrayFieldStart("parameterTypes");
+                for (String parameterType : callInfo.getParameterTypes()) {
+                    generator.writeString(parameterType);
+                }
+                generator.writeEndArray();
+            }
+            writeStringField("errorMessage", callInfo.getErrorMessage());
+            if (callInfo.getResolved() != null) {
+                generator.writeBooleanField("resolved", callInfo.getResolved());
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+            generator.flush();
+            records++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("输出方法调用失败", e);
+        }
+    }
+
+    /**
+     * 已输出的记录数
+     */
+    public synchronized long getRecords() {
+        return records;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        generator.close();
+    }
+
+    private void writeStringField(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
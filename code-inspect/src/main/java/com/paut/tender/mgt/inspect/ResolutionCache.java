@@ -0,0 +1,245 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.Range;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.resolution.UnsolvedSymbolException;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
+import com.github.javaparser.resolution.types.ResolvedType;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 符号解析结果缓存
+ * 按 文件路径 + 文件内容哈希 + 节点位置 缓存方法调用和scope类型的解析结果，
+ * 解析失败（包括 UnsolvedSymbolException）也会缓存，避免对同一位置重复尝试
+ *
+ * 解析结果还依赖其他文件（如链式调用中间方法的返回类型），无法只按结果判断是否受影响，源码变化后需要调用 clear()
+ * 缓存分段加锁，可以被多个线程同时使用；同一位置被并发解析时各自解析，以后写入的结果为准
+ */
+public class ResolutionCache {
+
+    /**
+     * 方法调用解析状态
+     */
+    public enum Status {
+        SOLVED,
+        UNSOLVED,   // UnsolvedSymbolException
+        FAILED      // 其他异常
+    }
+
+    /**
+     * 方法调用的解析结果
+     */
+    @Data
+    public static class CallResolution {
+        private Status status;
+        private String declaringClass;
+        private String qualifiedName;
+        private String classQualifiedName;
+        private String packageName;
+        private String message;
+        private String missingSymbol;   // UnsolvedSymbolException 中无法解析的符号
+    }
+
+    /**
+     * scope表达式的类型解析结果
+     */
+    @Data
+    public static class ScopeResolution {
+        private boolean resolved;
+        private boolean referenceType;
+        private String typeName;    // 引用类型为完全限定名，其他类型为 describe()
+        private String message;
+        private String missingSymbol;   // UnsolvedSymbolException 中无法解析的符号
+    }
+
+    /**
+     * 分段数，各段独立加锁和淘汰，多个线程同时查找时减少锁竞争
+     */
+    private static final int STRIPES = 16;
+
+    private final Map<String, Object>[] stripes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+
+    @SuppressWarnings("unchecked")
+    public ResolutionCache(int maxEntries) {
+        int maxEntriesPerStripe = Math.max(1, (maxEntries + STRIPES - 1) / STRIPES);
+        this.stripes = new Map[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > maxEntriesPerStripe;
+                }
+            };
+        }
+    }
+
+    /**
+     * 生成文件级的缓存键前缀
+     * @return 缺少文件路径或内容哈希时返回null，此时不使用缓存
+     */
+    public static String fileKey(CompilationUnit cu) {
+        if (!cu.containsData(CompilationUnitCache.CONTENT_HASH) || !cu.getStorage().isPresent()) {
+            return null;
+        }
+        return cu.getStorage().get().getPath().toAbsolutePath() + "#" + cu.getData(CompilationUnitCache.CONTENT_HASH);
+    }
+
+    /**
+     * 解析方法调用
+     * @param fileKey fileKey() 的结果，为null时不使用缓存
+     */
+    public CallResolution resolveCall(String fileKey, MethodCallExpr methodCall) {
+        String key = key(fileKey, "C", methodCall);
+        CallResolution cached = (CallResolution) lookup(key);
+        if (cached != null) {
+            if (cached.getStatus() != Status.SOLVED) {
+                negativeHits.incrementAndGet();
+            }
+            return cached;
+        }
+
+        CallResolution resolution = new CallResolution();
+        try {
+            ResolvedMethodDeclaration resolved = methodCall.resolve();
+            resolution.setStatus(Status.SOLVED);
+            resolution.setDeclaringClass(resolved.getClassName());
+            resolution.setQualifiedName(resolved.getQualifiedName());
+            resolution.setPackageName(resolved.getPackageName());
+            // 获取完全限定类名：包名 + 类名
+            resolution.setClassQualifiedName(resolved.getPackageName().isEmpty()
+                    ? resolved.getClassName()
+                    : resolved.getPackageName() + "." + resolved.getClassName());
+        } catch (UnsolvedSymbolException e) {
+            resolution.setStatus(Status.UNSOLVED);
+            resolution.setMessage(e.getMessage());
+            resolution.setMissingSymbol(UnresolvedSymbolRegistry.normalizeSymbol(e.getName()));
+        } catch (Exception e) {
+            resolution.setStatus(Status.FAILED);
+            resolution.setMessage(e.getMessage());
+        }
+        store(key, resolution);
+        return resolution;
+    }
+
+    /**
+     * 解析scope表达式的类型
+     * @param fileKey fileKey() 的结果，为null时不使用缓存
+     */
+    public ScopeResolution resolveScope(String fileKey, Expression scope) {
+        String key = key(fileKey, "S", scope);
+        ScopeResolution cached = (ScopeResolution) lookup(key);
+        if (cached != null) {
+            if (!cached.isResolved()) {
+                negativeHits.incrementAndGet();
+            }
+            return cached;
+        }
+
+        ScopeResolution resolution = new ScopeResolution();
+        try {
+            ResolvedType scopeType = scope.calculateResolvedType();
+            resolution.setResolved(true);
+            resolution.setReferenceType(scopeType.isReferenceType());
+            resolution.setTypeName(scopeType.isReferenceType()
+                    ? scopeType.asReferenceType().getQualifiedName()
+                    : scopeType.describe());
+        } catch (UnsolvedSymbolException e) {
+            resolution.setResolved(false);
+            resolution.setMessage(e.getMessage());
+            resolution.setMissingSymbol(UnresolvedSymbolRegistry.normalizeSymbol(e.getName()));
+        } catch (Exception e) {
+            resolution.setResolved(false);
+            resolution.setMessage(e.getMessage());
+        }
+        store(key, resolution);
+        return resolution;
+    }
+
+    public void clear() {
+        for (Map<String, Object> entries : stripes) {
+            synchronized (entries) {
+                entries.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Map<String, Object> entries : stripes) {
+            synchronized (entries) {
+                size += entries.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * 命中的缓存中解析失败的次数
+     */
+    public long getNegativeHits() {
+        return negativeHits.get();
+    }
+
+    private Object lookup(String key) {
+        if (key == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        Object cached;
+        Map<String, Object> entries = stripe(key);
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return cached;
+    }
+
+    private void store(String key, Object resolution) {
+        if (key == null) {
+            return;
+        }
+        Map<String, Object> entries = stripe(key);
+        synchronized (entries) {
+            entries.put(key, resolution);
+        }
+    }
+
+    private Map<String, Object> stripe(String key) {
+        return stripes[(key.hashCode() & Integer.MAX_VALUE) % STRIPES];
+    }
+
+    /**
+     * 同一位置开始的嵌套调用（如 a().b()）范围不同，因此键中包含完整范围
+     */
+    private static String key(String fileKey, String kind, Node node) {
+        if (fileKey == null || !node.getRange().isPresent()) {
+            return null;
+        }
+        Range range = node.getRange().get();
+        return fileKey + "|" + kind + "|" + range.begin.line + ":" + range.begin.column
+                + "-" + range.end.line + ":" + range.end.column;
+    }
+}
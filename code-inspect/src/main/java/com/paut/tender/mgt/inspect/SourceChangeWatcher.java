@@ -0,0 +1,189 @@
+package com.paut.tender.mgt.inspect;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 监听项目模块源码目录的变化
+ * 基于 WatchService 递归注册所有子目录（新建的目录会自动注册），
+ * 连续的文件事件在静默 debounceMillis 后合并为一次通知，避免保存、格式化等操作触发多次更新
+ *
+ * 只通知 .java 文件和目录的变化；目录的删除、重命名以目录路径通知，由接收方处理其下的文件。
+ * 事件溢出（OVERFLOW）时无法确定变化的文件，改为通知全量刷新
+ */
+@Slf4j
+public class SourceChangeWatcher implements Closeable {
+
+    /**
+     * 源码变化的接收方
+     */
+    public interface Listener {
+
+        /**
+         * 文件或目录发生了变化
+         */
+        void sourcesChanged(Set<Path> changedPaths);
+
+        /**
+         * 丢失了部分事件，需要全量刷新
+         */
+        void sourcesOverflowed();
+    }
+
+    private final List<String> sourceRoots;
+    private final Listener listener;
+    private final long debounceMillis;
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    public SourceChangeWatcher(List<String> sourceRoots, Listener listener, long debounceMillis) {
+        this.sourceRoots = sourceRoots;
+        this.listener = listener;
+        this.debounceMillis = debounceMillis;
+    }
+
+    /**
+     * 注册源码目录并在后台线程中开始监听
+     */
+    public synchronized void start() throws IOException {
+        if (thread != null) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (String sourceRoot : sourceRoots) {
+            Path root = Paths.get(sourceRoot).toAbsolutePath().normalize();
+            if (Files.isDirectory(root)) {
+                registerRecursively(root);
+            } else {
+                log.warn("模块路径不存在，不监听: {}", sourceRoot);
+            }
+        }
+        thread = new Thread(this::run, "code-inspect-source-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("开始监听源码变化，共 {} 个目录", watchedDirectories.size());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Set<Path> changedPaths = new LinkedHashSet<>();
+                boolean overflowed = false;
+                // 持续收集事件，直到静默 debounceMillis
+                while (key != null) {
+                    overflowed |= collect(key, changedPaths);
+                    key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                }
+                dispatch(changedPaths, overflowed);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            log.info("已停止监听源码变化");
+        }
+    }
+
+    /**
+     * 收集一个目录上的事件
+     * @return 是否发生了事件溢出
+     */
+    private boolean collect(WatchKey key, Set<Path> changedPaths) {
+        Path directory;
+        synchronized (this) {
+            directory = watchedDirectories.get(key);
+        }
+        boolean overflowed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflowed = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path path = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                // 新建目录中在注册前已创建的文件不会产生事件，以目录路径通知
+                try {
+                    registerRecursively(path);
+                } catch (IOException e) {
+                    log.warn("无法监听新建目录 {}: {}", path, e.getMessage());
+                }
+                changedPaths.add(path);
+            } else if (path.toString().endsWith(".java") || !Files.isRegularFile(path)) {
+                changedPaths.add(path);
+            }
+        }
+        if (!key.reset()) {
+            synchronized (this) {
+                watchedDirectories.remove(key);
+            }
+        }
+        return overflowed;
+    }
+
+    private void dispatch(Set<Path> changedPaths, boolean overflowed) {
+        try {
+            if (overflowed) {
+                log.warn("源码变化事件溢出，将全量刷新");
+                listener.sourcesOverflowed();
+            } else if (!changedPaths.isEmpty()) {
+                log.debug("监听到源码变化: {}", changedPaths);
+                listener.sourcesChanged(changedPaths);
+            }
+        } catch (Exception e) {
+            log.error("处理源码变化失败: {}", changedPaths, e);
+        }
+    }
+
+    private void registerRecursively(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                synchronized (SourceChangeWatcher.this) {
+                    watchedDirectories.put(key, dir);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                log.warn("无法访问: {}, 错误: {}", file, exc.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
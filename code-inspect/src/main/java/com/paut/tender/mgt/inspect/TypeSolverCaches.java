@@ -0,0 +1,164 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.cache.Cache;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * 类型求解器内部缓存
+ * JavaParserTypeSolver 和 CombinedTypeSolver 默认的缓存无法按条目失效，源码变化后只能整体重建；
+ * 这里创建求解器时传入可按条件清除的缓存（与默认实现一样使用弱引用键），源码变化时只清除受影响的条目：
+ * 1. 变化文件的解析结果及其所在目录的解析结果
+ * 2. 变化类型（含内部类）的查找结果
+ * 3. 所有未找到的查找结果，变化可能新增了之前缺失的类型
+ */
+public class TypeSolverCaches {
+
+    private final List<InvalidatableCache<Path, Optional<CompilationUnit>>> parsedFiles = new ArrayList<>();
+    private final List<InvalidatableCache<Path, List<CompilationUnit>>> parsedDirectories = new ArrayList<>();
+    private final List<InvalidatableCache<String, SymbolReference<ResolvedReferenceTypeDeclaration>>> foundTypes = new ArrayList<>();
+
+    /**
+     * 创建源码类型求解器，其缓存由本对象管理
+     */
+    public synchronized JavaParserTypeSolver newJavaParserTypeSolver(File sourceRoot) {
+        InvalidatableCache<Path, Optional<CompilationUnit>> files = new InvalidatableCache<>();
+        InvalidatableCache<Path, List<CompilationUnit>> directories = new InvalidatableCache<>();
+        InvalidatableCache<String, SymbolReference<ResolvedReferenceTypeDeclaration>> types = new InvalidatableCache<>();
+        parsedFiles.add(files);
+        parsedDirectories.add(directories);
+        foundTypes.add(types);
+        return new JavaParserTypeSolver(sourceRoot.toPath(), new JavaParser(), files, directories, types);
+    }
+
+    /**
+     * 创建组合类型求解器，其类型查找缓存由本对象管理
+     */
+    public synchronized CombinedTypeSolver newCombinedTypeSolver() {
+        InvalidatableCache<String, SymbolReference<ResolvedReferenceTypeDeclaration>> types = new InvalidatableCache<>();
+        foundTypes.add(types);
+        return new CombinedTypeSolver(CombinedTypeSolver.ExceptionHandlers.IGNORE_NONE,
+                Collections.<TypeSolver>emptyList(), types);
+    }
+
+    /**
+     * 清除受源码变化影响的缓存条目
+     * @param changedFiles 变化（新增、修改、删除）的源文件
+     * @param changedTypes 变化文件中变化前后声明的类型的完全限定名
+     */
+    public synchronized void invalidate(Collection<Path> changedFiles, Set<String> changedTypes) {
+        List<Path> files = new ArrayList<>();
+        for (Path file : changedFiles) {
+            files.add(file.toAbsolutePath().normalize());
+        }
+        for (InvalidatableCache<Path, Optional<CompilationUnit>> cache : parsedFiles) {
+            cache.removeIf((path, cu) -> files.contains(path.toAbsolutePath().normalize()));
+        }
+        for (InvalidatableCache<Path, List<CompilationUnit>> cache : parsedDirectories) {
+            cache.removeIf((directory, cus) -> {
+                Path normalized = directory.toAbsolutePath().normalize();
+                return files.stream().anyMatch(file -> file.startsWith(normalized));
+            });
+        }
+        for (InvalidatableCache<String, SymbolReference<ResolvedReferenceTypeDeclaration>> cache : foundTypes) {
+            cache.removeIf((name, reference) -> !reference.isSolved() || isChangedType(name, changedTypes));
+        }
+    }
+
+    /**
+     * 清除全部缓存，无法确定变化范围时使用
+     */
+    public synchronized void invalidateAll() {
+        parsedFiles.forEach(InvalidatableCache::removeAll);
+        parsedDirectories.forEach(InvalidatableCache::removeAll);
+        foundTypes.forEach(InvalidatableCache::removeAll);
+    }
+
+    /**
+     * 变化的类型本身或其内部类
+     */
+    static boolean isChangedType(String name, Set<String> changedTypes) {
+        if (changedTypes.contains(name)) {
+            return true;
+        }
+        for (int dot = name.lastIndexOf('.'); dot > 0; dot = name.lastIndexOf('.', dot - 1)) {
+            if (changedTypes.contains(name.substring(0, dot))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 支持按条件清除的缓存，与 InMemoryCache 一样使用弱引用键
+     */
+    private static class InvalidatableCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> values = Collections.synchronizedMap(new WeakHashMap<>());
+
+        @Override
+        public void put(K key, V value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public Optional<V> get(K key) {
+            return Optional.ofNullable(values.get(key));
+        }
+
+        @Override
+        public void remove(K key) {
+            values.remove(key);
+        }
+
+        @Override
+        public void removeAll() {
+            values.clear();
+        }
+
+        @Override
+        public boolean contains(K key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public long size() {
+            return values.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return values.isEmpty();
+        }
+
+        void removeIf(BiPredicate<K, V> predicate) {
+            synchronized (values) {
+                Iterator<Map.Entry<K, V>> iterator = values.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<K, V> entry = iterator.next();
+                    if (entry.getKey() != null && predicate.test(entry.getKey(), entry.getValue())) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+    }
+}
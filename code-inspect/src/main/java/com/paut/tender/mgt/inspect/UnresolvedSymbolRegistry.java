@@ -0,0 +1,270 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.CallableDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.LambdaExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.CatchClause;
+import com.github.javaparser.ast.stmt.ForEachStmt;
+import com.github.javaparser.ast.stmt.ForStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.TryStmt;
+import com.github.javaparser.ast.type.Type;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本次运行中无法解析的符号登记表
+ * 1. 方法调用的scope类型（按简单类名）确认无法解析后登记为缺失类型，之后scope为该类型的调用直接判定为未解析，
+ *    不再经过 CombinedTypeSolver 和 scope 类型的二次解析
+ * 2. 按缺失符号统计失败次数，运行结束时（命令行分析结束、常驻服务停止）输出一次汇总；
+ *    常驻服务中计数在多次请求间累计，只随 reset() 清空，每次请求不输出汇总
+ *
+ * scope的类型通过语法查找局部变量、参数和字段的声明得到，不做符号解析；
+ * 按简单类名判断，不同包中的同名类型会被视为同一类型
+ */
+@Slf4j
+public class UnresolvedSymbolRegistry {
+
+    private final Set<String> missingTypes = ConcurrentHashMap.newKeySet();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> failFastFailures = new ConcurrentHashMap<>();
+
+    /**
+     * 方法调用的scope类型是否已确认缺失
+     */
+    public boolean isMissingType(String simpleTypeName) {
+        return simpleTypeName != null && missingTypes.contains(simpleTypeName);
+    }
+
+    /**
+     * 登记缺失类型，之后scope为该类型的调用将快速失败
+     */
+    public void markMissingType(String simpleTypeName) {
+        if (simpleTypeName != null) {
+            missingTypes.add(simpleTypeName);
+        }
+    }
+
+    /**
+     * 取消缺失类型的登记，源码中新增或修改了这些类型时调用
+     */
+    public void forgetMissingTypes(Collection<String> simpleTypeNames) {
+        missingTypes.removeAll(simpleTypeNames);
+    }
+
+    /**
+     * 记录一次由缺失符号导致的解析失败
+     * @param failFast 是否为快速失败（未实际解析）
+     * @return 是否为该符号第一次失败
+     */
+    public boolean recordFailure(String symbol, boolean failFast) {
+        String key = symbol == null ? "未知" : symbol;
+        if (failFast) {
+            failFastFailures.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        }
+        return failures.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet() == 1;
+    }
+
+    public long getFailureCount() {
+        return failures.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    public long getFailFastCount() {
+        return failFastFailures.values().stream().mapToLong(AtomicLong::get).sum();
+    }
+
+    /**
+     * 输出缺失符号及其导致的失败次数，按失败次数从多到少排列
+     */
+    public void logSummary() {
+        if (failures.isEmpty()) {
+            return;
+        }
+        log.info("未解析符号汇总: 共 {} 次失败（其中快速失败 {} 次），涉及 {} 个符号",
+                getFailureCount(), getFailFastCount(), failures.size());
+        List<Map.Entry<String, AtomicLong>> entries = new ArrayList<>(failures.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()));
+        for (Map.Entry<String, AtomicLong> entry : entries) {
+            AtomicLong failFast = failFastFailures.get(entry.getKey());
+            log.info("  {}: {} 次{}", entry.getKey(), entry.getValue().get(),
+                    missingTypes.contains(entry.getKey()) ? "（缺失类型，快速失败 " + (failFast == null ? 0 : failFast.get()) + " 次）" : "");
+        }
+    }
+
+    /**
+     * 清空登记，源码或依赖变化后调用
+     */
+    public void reset() {
+        missingTypes.clear();
+        failures.clear();
+        failFastFailures.clear();
+    }
+
+    /**
+     * 规范化 UnsolvedSymbolException 中的符号名
+     */
+    public static String normalizeSymbol(String name) {
+        if (name == null) {
+            return null;
+        }
+        return name.startsWith("Solving ") ? name.substring("Solving ".length()) : name;
+    }
+
+    /**
+     * 通过语法查找方法调用scope的声明类型（简单类名）
+     * 支持 变量.方法()、this.字段.方法() 以及 类名.静态方法()
+     * @return 无法确定时返回null
+     */
+    public static String scopeTypeName(MethodCallExpr methodCall) {
+        if (!methodCall.getScope().isPresent()) {
+            return null;
+        }
+        Expression scope = methodCall.getScope().get();
+        if (scope.isNameExpr()) {
+            String name = scope.asNameExpr().getNameAsString();
+            Optional<Type> declaredType = findDeclaredType(methodCall, name, false);
+            if (declaredType == null) {
+                return null;
+            }
+            if (declaredType.isPresent()) {
+                return simpleName(declaredType.get());
+            }
+            // 没有同名变量声明，按约定首字母大写视为类名
+            return Character.isUpperCase(name.charAt(0)) ? name : null;
+        }
+        if (scope.isFieldAccessExpr() && scope.asFieldAccessExpr().getScope().isThisExpr()) {
+            Optional<Type> declaredType = findDeclaredType(methodCall, scope.asFieldAccessExpr().getNameAsString(), true);
+            return declaredType != null && declaredType.isPresent() ? simpleName(declaredType.get()) : null;
+        }
+        return null;
+    }
+
+    /**
+     * 由内向外查找变量声明
+     * @return 找到声明时返回其类型；确定没有声明时返回 Optional.empty()；
+     *         声明类型无法从语法得知（如lambda隐式参数）时返回null
+     */
+    private static Optional<Type> findDeclaredType(Node from, String name, boolean fieldsOnly) {
+        Node child = from;
+        Optional<Node> parent = from.getParentNode();
+        while (parent.isPresent()) {
+            Node node = parent.get();
+            if (!fieldsOnly) {
+                Optional<Type> local = findLocalDeclaration(node, child, name);
+                if (local == null || local.isPresent()) {
+                    return local;
+                }
+            }
+            if (node instanceof TypeDeclaration) {
+                Optional<FieldDeclaration> field = ((TypeDeclaration<?>) node).getFieldByName(name);
+                if (field.isPresent()) {
+                    for (VariableDeclarator variable : field.get().getVariables()) {
+                        if (variable.getNameAsString().equals(name)) {
+                            return Optional.of(variable.getType());
+                        }
+                    }
+                }
+            }
+            child = node;
+            parent = node.getParentNode();
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Type> findLocalDeclaration(Node node, Node child, String name) {
+        if (node instanceof BlockStmt) {
+            for (Statement statement : ((BlockStmt) node).getStatements()) {
+                if (statement == child) {
+                    break;
+                }
+                if (statement.isExpressionStmt() && statement.asExpressionStmt().getExpression().isVariableDeclarationExpr()) {
+                    Optional<Type> type = findVariable(
+                            statement.asExpressionStmt().getExpression().asVariableDeclarationExpr(), name);
+                    if (type.isPresent()) {
+                        return type;
+                    }
+                }
+            }
+        } else if (node instanceof CallableDeclaration) {
+            return findParameter(((CallableDeclaration<?>) node).getParameters(), name);
+        } else if (node instanceof LambdaExpr) {
+            for (Parameter parameter : ((LambdaExpr) node).getParameters()) {
+                if (parameter.getNameAsString().equals(name)) {
+                    return parameter.getType().isUnknownType() ? null : Optional.of(parameter.getType());
+                }
+            }
+        } else if (node instanceof ForEachStmt) {
+            return findVariable(((ForEachStmt) node).getVariable(), name);
+        } else if (node instanceof ForStmt) {
+            for (Expression init : ((ForStmt) node).getInitialization()) {
+                if (init.isVariableDeclarationExpr()) {
+                    Optional<Type> type = findVariable(init.asVariableDeclarationExpr(), name);
+                    if (type.isPresent()) {
+                        return type;
+                    }
+                }
+            }
+        } else if (node instanceof TryStmt) {
+            for (Expression resource : ((TryStmt) node).getResources()) {
+                if (resource.isVariableDeclarationExpr()) {
+                    Optional<Type> type = findVariable(resource.asVariableDeclarationExpr(), name);
+                    if (type.isPresent()) {
+                        return type;
+                    }
+                }
+            }
+        } else if (node instanceof CatchClause) {
+            Parameter parameter = ((CatchClause) node).getParameter();
+            if (parameter.getNameAsString().equals(name)) {
+                return Optional.of(parameter.getType());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Type> findVariable(VariableDeclarationExpr declaration, String name) {
+        for (VariableDeclarator variable : declaration.getVariables()) {
+            if (variable.getNameAsString().equals(name)) {
+                return Optional.of(variable.getType());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Type> findParameter(NodeList<Parameter> parameters, String name) {
+        for (Parameter parameter : parameters) {
+            if (parameter.getNameAsString().equals(name)) {
+                return Optional.of(parameter.getType());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 类或接口类型的简单类名，var、基本类型、数组等返回null
+     */
+    private static String simpleName(Type type) {
+        if (!type.isClassOrInterfaceType()) {
+            return null;
+        }
+        String name = type.asClassOrInterfaceType().getNameAsString();
+        return "var".equals(name) ? null : name;
+    }
+}
@@ -0,0 +1,161 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * CodeInspectDaemon：在系统分配的端口上启动服务，通过 CodeInspectClient 验证各接口和错误状态码
+ */
+public class CodeInspectDaemonTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private File sourceRoot;
+    private File caller;
+    private CodeInspectDaemon daemon;
+    private CodeInspectClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        sourceRoot = temporaryFolder.newFolder("src");
+        write("com/example/Service.java", "package com.example;\n"
+                + "\n"
+                + "public class Service {\n"
+                + "    public String load() { return \"\"; }\n"
+                + "}\n");
+        caller = write("com/example/Caller.java", "package com.example;\n"
+                + "\n"
+                + "public class Caller {\n"
+                + "    public Object call(Service service) {\n"
+                + "        return service.load();\n"
+                + "    }\n"
+                + "}\n");
+
+        InspectConfig config = new InspectConfig();
+        config.setProjectModules(new ArrayList<>(Collections.singletonList(sourceRoot.getPath())));
+        config.setCacheDirectory(temporaryFolder.newFolder("cache").getPath());
+        config.setResolveMavenDependencies(false);
+        config.setWatchSources(true);
+        config.setWatchDebounceMillis(100);
+        config.setDaemonPort(0);
+        daemon = new CodeInspectDaemon(config);
+        daemon.start();
+        client = new CodeInspectClient(daemon.getPort());
+    }
+
+    @After
+    public void tearDown() {
+        daemon.stop();
+    }
+
+    @Test
+    public void testAnalyze() throws IOException {
+        JsonNode result = objectMapper.readTree(client.analyze(caller.getPath(), 4, 6));
+        assertEquals(caller.getPath(), result.path("filePath").asText());
+        assertEquals(1, result.path("methodCalls").size());
+        assertEquals("com.example.Service", result.path("methodCalls").path(0).path("classQualifiedName").asText());
+
+        // 数组请求返回结果数组，单项失败记录在 errorMessage 中
+        String batch = "[{\"filePath\":\"" + json(caller.getPath()) + "\",\"startLine\":4,\"endLine\":6},"
+                + "{\"filePath\":\"" + json(new File(sourceRoot, "Missing.java").getPath()) + "\",\"startLine\":1,\"endLine\":2}]";
+        JsonNode results = objectMapper.readTree(client.send("POST", "/analyze", bytes(batch)));
+        assertEquals(2, results.size());
+        assertEquals(1, results.path(0).path("methodCalls").size());
+        assertTrue(results.path(1).hasNonNull("errorMessage"));
+
+        JsonNode status = objectMapper.readTree(client.send("GET", "/status", null));
+        assertEquals(3, status.path("analyzedRequests").asLong());
+        assertEquals(2, status.path("classCount").asInt());
+    }
+
+    @Test
+    public void testErrorStatusCodes() {
+        assertStatus(405, "GET", "/analyze", null);
+        assertStatus(405, "POST", "/status", new byte[0]);
+        assertStatus(400, "POST", "/analyze", bytes("{not json"));
+        assertStatus(400, "POST", "/analyze", bytes("42"));
+        assertStatus(400, "POST", "/analyze", bytes("{\"startLine\":1,\"endLine\":2}"));
+    }
+
+    @Test
+    public void testSourceChangesAreWatched() throws Exception {
+        assertEquals(2, objectMapper.readTree(client.send("POST", "/refresh", new byte[0])).path("classCount").asInt());
+
+        write("com/example/Added.java", "package com.example;\n\npublic class Added {}\n");
+        long deadline = System.currentTimeMillis() + 10_000;
+        int classCount;
+        do {
+            Thread.sleep(50);
+            classCount = objectMapper.readTree(client.send("GET", "/status", null)).path("classCount").asInt();
+        } while (classCount != 3 && System.currentTimeMillis() < deadline);
+        assertEquals("新增的源码文件应自动加入类文件映射", 3, classCount);
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                daemon.awaitStop();
+                stopped.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.setDaemon(true);
+        waiter.start();
+
+        JsonNode response = objectMapper.readTree(client.send("POST", "/shutdown", new byte[0]));
+        assertTrue(response.path("stopping").asBoolean());
+        assertTrue("服务应在关闭请求后停止", stopped.await(10, TimeUnit.SECONDS));
+        try {
+            client.send("GET", "/status", null);
+            fail("服务停止后不应再接受请求");
+        } catch (IOException expected) {
+            // 连接被拒绝
+        }
+    }
+
+    private void assertStatus(int expected, String method, String path, byte[] body) {
+        try {
+            client.send(method, path, body);
+            fail(method + " " + path + " 应返回 " + expected);
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("HTTP " + expected + ":"));
+            assertTrue(e.getMessage(), e.getMessage().contains("errorMessage"));
+        }
+    }
+
+    private File write(String relativePath, String content) throws IOException {
+        File file = new File(sourceRoot, relativePath);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String json(String value) {
+        return value.replace("\\", "\\\\");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
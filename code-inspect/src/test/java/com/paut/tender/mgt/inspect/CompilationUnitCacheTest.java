@@ -0,0 +1,84 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompilationUnitCache 按路径缓存、按内容哈希校验
+ */
+public class CompilationUnitCacheTest {
+
+    private static final String SOURCE = "package com.example;\n\npublic class Same {\n}\n";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private CompilationUnitCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new CompilationUnitCache(new JavaParser(), 16);
+    }
+
+    @Test
+    public void testUnchangedFileIsParsedOnce() throws IOException {
+        File file = write("a/Same.java", SOURCE);
+        CompilationUnit first = cache.get(file);
+        assertSame(first, cache.get(file));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testIdenticalContentAtDifferentPathsIsNotShared() throws IOException {
+        File first = write("a/Same.java", SOURCE);
+        File second = write("b/Same.java", SOURCE);
+        CompilationUnit firstUnit = cache.get(first);
+        CompilationUnit secondUnit = cache.get(second);
+        assertNotSame(firstUnit, secondUnit);
+        assertEquals(first.toPath(), firstUnit.getStorage().get().getPath());
+        assertEquals(second.toPath(), secondUnit.getStorage().get().getPath());
+    }
+
+    @Test
+    public void testChangedContentIsReparsed() throws IOException {
+        File file = write("a/Same.java", SOURCE);
+        CompilationUnit before = cache.get(file);
+        write("a/Same.java", SOURCE.replace("Same {", "Same {\n    int count;"));
+        CompilationUnit after = cache.get(file);
+        assertNotSame(before, after);
+        assertEquals(1, after.getType(0).getFields().size());
+        assertNotEquals(before.getData(CompilationUnitCache.CONTENT_HASH), after.getData(CompilationUnitCache.CONTENT_HASH));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedUnitIsEvicted() throws IOException {
+        cache = new CompilationUnitCache(new JavaParser(), 2);
+        File a = write("a/Same.java", SOURCE);
+        File b = write("b/Same.java", SOURCE);
+        File c = write("c/Same.java", SOURCE);
+        CompilationUnit unitA = cache.get(a);
+        cache.get(b);
+        cache.get(c);
+        assertNotSame(unitA, cache.get(a));
+        assertEquals(4, cache.getMisses());
+    }
+
+    private File write(String relativePath, String content) throws IOException {
+        File file = new File(temporaryFolder.getRoot(), relativePath);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
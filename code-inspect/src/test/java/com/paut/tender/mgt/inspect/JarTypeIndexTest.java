@@ -0,0 +1,132 @@
+package com.paut.tender.mgt.inspect;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * JarTypeIndex：类型查找、classpath顺序，以及缓存按修改时间、大小和校验和重新校验
+ */
+public class JarTypeIndexTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testFindTypes() throws IOException {
+        File jar = jar("lib.jar", "com/acme/Order", "com/acme/Order$Line", "META-INF/versions/9/com/acme/Skip",
+                "module-info", "com/acme/package-info");
+        JarTypeIndex index = new JarTypeIndex(Collections.singletonList(jar), null);
+
+        assertEquals(1, index.getJarCount());
+        assertEquals("com/acme/Order", index.find("com.acme.Order").getClassEntry());
+        JarTypeIndex.TypeLocation inner = index.find("com.acme.Order.Line");
+        assertEquals(jar, inner.getJarFile());
+        assertEquals("com.acme.Order$Line", inner.getBinaryName());
+        assertEquals(inner, index.findByBinaryName("com.acme.Order$Line"));
+        assertNull("内部类的二进制名必须使用 $", index.findByBinaryName("com.acme.Order.Line"));
+        assertNull(index.find("com.acme.Skip"));
+        assertNull(index.find("module-info"));
+        assertNull(index.find("com.acme.package-info"));
+    }
+
+    @Test
+    public void testFirstJarOnClasspathWins() throws IOException {
+        File first = jar("first.jar", "com/acme/Shared");
+        File second = jar("second.jar", "com/acme/Shared", "com/acme/OnlySecond");
+        JarTypeIndex index = new JarTypeIndex(Arrays.asList(first, second), null);
+        assertEquals(first, index.find("com.acme.Shared").getJarFile());
+        assertEquals(second, index.find("com.acme.OnlySecond").getJarFile());
+    }
+
+    @Test
+    public void testCacheIsRevalidatedByChecksum() throws IOException {
+        File jar = jar("lib.jar", "com/acme/Order");
+        File cacheFile = new File(temporaryFolder.getRoot(), "cache/jarTypeIndex.json");
+        assertNotNull(new JarTypeIndex(Collections.singletonList(jar), cacheFile).find("com.acme.Order"));
+        assertTrue(cacheFile.exists());
+
+        // 篡改缓存中的条目：修改时间、大小、校验和都未变时直接使用缓存，不重新读取jar
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode root = (ObjectNode) objectMapper.readTree(cacheFile);
+        ObjectNode cachedJar = (ObjectNode) root.path("jars").path(jar.getAbsolutePath());
+        ArrayNode entries = cachedJar.putArray("classEntries");
+        entries.add("com/acme/FromCache");
+        objectMapper.writeValue(cacheFile, root);
+        JarTypeIndex cached = new JarTypeIndex(Collections.singletonList(jar), cacheFile);
+        assertNotNull(cached.find("com.acme.FromCache"));
+        assertNull(cached.find("com.acme.Order"));
+
+        // 只有修改时间变化、内容不变：校验和一致，仍使用缓存的条目
+        assertTrue(jar.setLastModified(jar.lastModified() + 60_000));
+        JarTypeIndex touched = new JarTypeIndex(Collections.singletonList(jar), cacheFile);
+        assertNotNull(touched.find("com.acme.FromCache"));
+
+        // 内容变化：校验和不一致，重新读取jar
+        long lastModified = jar.lastModified();
+        jar("lib.jar", "com/acme/Order", "com/acme/Invoice");
+        assertTrue(jar.setLastModified(lastModified));
+        JarTypeIndex changed = new JarTypeIndex(Collections.singletonList(jar), cacheFile);
+        assertNull(changed.find("com.acme.FromCache"));
+        assertNotNull(changed.find("com.acme.Order"));
+        assertNotNull(changed.find("com.acme.Invoice"));
+
+        // 重新读取的结果已写回缓存
+        JarTypeIndex reloaded = new JarTypeIndex(Collections.singletonList(jar), cacheFile);
+        assertNotNull(reloaded.find("com.acme.Invoice"));
+    }
+
+    @Test
+    public void testCacheWithOtherVersionIsDiscarded() throws IOException {
+        File jar = jar("lib.jar", "com/acme/Order");
+        File cacheFile = temporaryFolder.newFile("jarTypeIndex.json");
+        Files.write(cacheFile.toPath(), "{\"version\":-1,\"jars\":{}}".getBytes("UTF-8"));
+        assertNotNull(new JarTypeIndex(Collections.singletonList(jar), cacheFile).find("com.acme.Order"));
+    }
+
+    @Test
+    public void testClearRemovesCacheFile() throws IOException {
+        File jar = jar("lib.jar", "com/acme/Order");
+        File cacheFile = new File(temporaryFolder.getRoot(), "jarTypeIndex.json");
+        JarTypeIndex index = new JarTypeIndex(Collections.singletonList(jar), cacheFile);
+        index.find("com.acme.Order");
+        assertTrue(cacheFile.exists());
+
+        index.clear();
+        assertFalse(cacheFile.exists());
+        jar("lib.jar", "com/acme/Renamed");
+        assertNull(index.find("com.acme.Order"));
+        assertNotNull(index.find("com.acme.Renamed"));
+    }
+
+    /**
+     * 生成只包含指定class条目的jar（条目内容为空，索引只读取目录）
+     */
+    private File jar(String name, String... classEntries) throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), name);
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String classEntry : classEntries) {
+                zip.putNextEntry(new ZipEntry(classEntry + ".class"));
+                zip.closeEntry();
+            }
+            zip.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+            zip.closeEntry();
+        }
+        return jar;
+    }
+}
@@ -0,0 +1,172 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * JavaDeclarationScanner 与 JavaParser 对照：同一源码扫描出的包名和类型声明必须与完整解析一致
+ * 局部类、匿名类、枚举常量体中的类不是成员类型，两者都不应索引
+ */
+public class JavaDeclarationScannerTest {
+
+    private final JavaParser javaParser = new JavaParser(
+            new ParserConfiguration().setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17));
+
+    @Test
+    public void testCommentsAreIgnored() {
+        assertSameAsJavaParser("package com.example.comments;\n"
+                + "/* class Fake { */\n"
+                + "/**\n"
+                + " * {@code class AlsoFake {}} }}}\n"
+                + " */\n"
+                + "public class Real { // } class Hidden {\n"
+                + "    /* } */ static class Inner { }\n"
+                + "    /**/ interface Marker { }\n"
+                + "}\n"
+                + "// class Trailing {}\n");
+    }
+
+    @Test
+    public void testStringAndCharLiteralsAreIgnored() {
+        assertSameAsJavaParser("package com.example.literals;\n"
+                + "public class Literals {\n"
+                + "    String a = \"class A { \\\" } \";\n"
+                + "    String b = \"\\\\\"; class AfterEscapedBackslash { }\n"
+                + "    char open = '{', close = '}', quote = '\"', apostrophe = '\\'', unicode = '\\u0041';\n"
+                + "    String c = \"}\" + '}' + \"{\";\n"
+                + "    static class AfterLiterals { }\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testTextBlocksAreIgnored() {
+        assertSameAsJavaParser("package com.example.text;\n"
+                + "public class TextBlocks {\n"
+                + "    String sql = \"\"\"\n"
+                + "        class NotAType { \\\"\"\" still inside }\n"
+                + "        \"quoted\" '{'\n"
+                + "        \"\"\";\n"
+                + "    String empty = \"\"\"\n"
+                + "        \"\"\";\n"
+                + "    enum AfterTextBlock { A }\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testAnnotations() {
+        assertSameAsJavaParser("package com.example.annotations;\n"
+                + "import java.lang.annotation.*;\n"
+                + "@Retention(RetentionPolicy.RUNTIME)\n"
+                + "@Target({ElementType.TYPE, ElementType.METHOD})\n"
+                + "public @interface Marker {\n"
+                + "    Class<?> value() default Object.class;\n"
+                + "    String[] names() default {\"a\", \"}\"};\n"
+                + "    @interface Nested { int x() default 1; }\n"
+                + "    enum Level { LOW, HIGH }\n"
+                + "}\n"
+                + "@Marker(value = String.class, names = {})\n"
+                + "@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n"
+                + "class Annotated {\n"
+                + "    @Marker(Annotated.class) class Member { }\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testNestedAndGenericTypes() {
+        assertSameAsJavaParser("package com.example.nested;\n"
+                + "import java.util.*;\n"
+                + "public class Outer<T extends Comparable<? super T>> implements Comparable<Outer<T>> {\n"
+                + "    private final Map<String, List<Map<T, Integer>>> map = new HashMap<>();\n"
+                + "    public int compareTo(Outer<T> o) { return 0; }\n"
+                + "    static class Inner<K, V extends List<K>> extends HashMap<K, V> {\n"
+                + "        class Deeper { interface Deepest { } }\n"
+                + "    }\n"
+                + "    <R> R generic(Class<R> type) { return null; }\n"
+                + "    interface Callback<X> { default void on(X x) { } class InInterface { } }\n"
+                + "    enum Kind {\n"
+                + "        A(\"a\") { @Override String label() { return \"}\"; } },\n"
+                + "        B(\"b\");\n"
+                + "        Kind(String s) { }\n"
+                + "        String label() { return name(); }\n"
+                + "        static class InEnum { }\n"
+                + "    }\n"
+                + "    record Pair<L, R>(L left, R right) implements Callback<L> {\n"
+                + "        Pair { Objects.requireNonNull(left); }\n"
+                + "        record Nested(int x) { }\n"
+                + "    }\n"
+                + "    sealed interface Shape permits Circle, Square { }\n"
+                + "    final class Circle implements Shape { }\n"
+                + "    non-sealed class Square implements Shape { }\n"
+                + "    static { int[] values = {1, 2}; }\n"
+                + "    { Object o = Inner.class; }\n"
+                + "}\n"
+                + "class SecondTopLevel { }\n"
+                + "interface ThirdTopLevel { }\n");
+    }
+
+    @Test
+    public void testLocalAndAnonymousClassesAreNotIndexed() {
+        assertSameAsJavaParser("package com.example.local;\n"
+                + "public class Host {\n"
+                + "    Runnable field = () -> { class InLambda { } };\n"
+                + "    Runnable anonymous = new Runnable() {\n"
+                + "        class InAnonymous { }\n"
+                + "        public void run() { }\n"
+                + "    };\n"
+                + "    void method(int record) {\n"
+                + "        class Local { class LocalMember { } }\n"
+                + "        record LocalRecord(int x) { }\n"
+                + "        int value = record + 1_000 + 0x1F + (int) 1.5e3;\n"
+                + "        if (value > 0) { new Object() { }; }\n"
+                + "    }\n"
+                + "    int record() { return 0; }\n"
+                + "    Object record = new Object();\n"
+                + "    static class AfterMethods { }\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testDefaultPackage() {
+        assertSameAsJavaParser("import java.util.List;\n"
+                + "class NoPackage { static class Inner { } }\n");
+    }
+
+    private void assertSameAsJavaParser(String source) {
+        ParseResult<CompilationUnit> result = javaParser.parse(source);
+        assertTrue("测试源码应能被JavaParser解析: " + result.getProblems(), result.isSuccessful());
+        CompilationUnit cu = result.getResult().get();
+
+        List<String> expected = new ArrayList<>();
+        for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+            if (isMemberType(type)) {
+                expected.add(type.getFullyQualifiedName().get());
+            }
+        }
+        String expectedPackage = cu.getPackageDeclaration().map(p -> p.getNameAsString()).orElse("");
+
+        JavaFileSummary summary = JavaDeclarationScanner.scan(source);
+        assertEquals(expectedPackage, summary.getPackageName());
+        assertEquals(expected, summary.getQualifiedTypeNames());
+    }
+
+    /**
+     * 顶层类型，或所有外层节点都是类型声明的成员类型
+     */
+    private static boolean isMemberType(TypeDeclaration<?> type) {
+        Node parent = type.getParentNode().orElse(null);
+        while (parent instanceof TypeDeclaration) {
+            parent = parent.getParentNode().orElse(null);
+        }
+        return parent instanceof CompilationUnit;
+    }
+}
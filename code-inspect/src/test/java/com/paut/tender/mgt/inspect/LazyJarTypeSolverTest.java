@@ -0,0 +1,98 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * LazyJarTypeSolver：只在解析到类型时打开jar，close() 释放打开的jar
+ */
+public class LazyJarTypeSolverTest {
+
+    private static final String TYPE_NAME = "com.paut.tender.mgt.inspect.ScopeInfo";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testOpensJarOnDemandAndCloses() throws IOException {
+        File jar = jarWithClass(TYPE_NAME);
+        LazyJarTypeSolver solver = new LazyJarTypeSolver(new JarTypeIndex(Collections.singletonList(jar), null));
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(), solver);
+        assertEquals(0, solver.getOpenedJarCount());
+
+        assertFalse(solver.tryToSolveType("com.example.NotInJar").isSolved());
+        assertEquals(0, solver.getOpenedJarCount());
+
+        SymbolReference<ResolvedReferenceTypeDeclaration> solved = typeSolver.tryToSolveType(TYPE_NAME);
+        assertTrue(solved.isSolved());
+        assertEquals(TYPE_NAME, solved.getCorrespondingDeclaration().getQualifiedName());
+        assertEquals(1, solver.getOpenedJarCount());
+
+        solver.close();
+        assertEquals(0, solver.getOpenedJarCount());
+        // 关闭后jar可以被替换，之后的查找重新打开
+        assertTrue(jar.delete());
+        jarWithClass(TYPE_NAME);
+        assertTrue(solver.tryToSolveType(TYPE_NAME).isSolved());
+        assertEquals(1, solver.getOpenedJarCount());
+        solver.close();
+    }
+
+    @Test
+    public void testAnalyzerCloseReleasesJars() throws IOException {
+        File jar = jarWithClass(TYPE_NAME);
+        File sourceRoot = temporaryFolder.newFolder("src");
+        InspectConfig config = new InspectConfig();
+        config.setProjectModules(Collections.singletonList(sourceRoot.getPath()));
+        config.setCacheDirectory(temporaryFolder.newFolder("cache").getPath());
+        config.setResolveMavenDependencies(false);
+        config.setWatchSources(false);
+        config.setAdditionalJars(Collections.singletonList(jar.getPath()));
+
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config);
+        LazyJarTypeSolver solver = analyzer.getContexts()[0].getJarTypeSolver();
+        assertNotNull(solver);
+        assertTrue(analyzer.getContexts()[0].getTypeSolver().tryToSolveType(TYPE_NAME).isSolved());
+        assertEquals(1, solver.getOpenedJarCount());
+
+        analyzer.close();
+        assertEquals(0, solver.getOpenedJarCount());
+    }
+
+    /**
+     * 把测试类路径上某个类的字节码打包成jar
+     */
+    private File jarWithClass(String className) throws IOException {
+        String entryName = className.replace('.', '/') + ".class";
+        File jar = new File(temporaryFolder.getRoot(), "lib.jar");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(entryName);
+             OutputStream out = Files.newOutputStream(jar.toPath());
+             ZipOutputStream zip = new ZipOutputStream(out)) {
+            assertNotNull(entryName, in);
+            zip.putNextEntry(new ZipEntry(entryName));
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                zip.write(buffer, 0, read);
+            }
+            zip.closeEntry();
+        }
+        return jar;
+    }
+}
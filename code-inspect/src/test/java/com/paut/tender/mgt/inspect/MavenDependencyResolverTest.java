@@ -0,0 +1,143 @@
+package com.paut.tender.mgt.inspect;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * MavenDependencyResolver：在临时目录中构造本地仓库，验证父pom、属性、BOM导入、排除和就近原则
+ */
+public class MavenDependencyResolverTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testResolvesTransitiveDependencies() throws IOException {
+        File repository = temporaryFolder.newFolder("repository");
+        File project = temporaryFolder.newFolder("project");
+
+        // 父pom：属性、BOM导入，以及覆盖传递依赖版本的 dependencyManagement
+        write(new File(project, "pom.xml"), project("demo", "parent", "1.0", null,
+                "<properties><lib.version>1.0</lib.version></properties>"
+                        + "<dependencyManagement><dependencies>"
+                        + dependency("demo", "bom", "1.0", "<type>pom</type><scope>import</scope>")
+                        + dependency("demo", "lib-b", "1.0", "")
+                        + "</dependencies></dependencyManagement>"));
+        File modulePom = new File(project, "app/pom.xml");
+        write(modulePom, project(null, "app", null, parent("demo", "parent", "1.0"),
+                "<dependencies>"
+                        + dependency("demo", "lib-a", "${lib.version}",
+                        "<exclusions><exclusion><groupId>demo</groupId><artifactId>lib-excluded</artifactId></exclusion></exclusions>")
+                        + dependency("demo", "lib-managed", null, "")
+                        + dependency("demo", "lib-test", "1.0", "<scope>test</scope>")
+                        + "</dependencies>"));
+
+        artifact(repository, "bom", "1.0", "<dependencyManagement><dependencies>"
+                + dependency("demo", "lib-managed", "2.0", "")
+                + "</dependencies></dependencyManagement>", false);
+        artifact(repository, "lib-a", "1.0", "<dependencies>"
+                + dependency("demo", "lib-b", "2.0", "")
+                + dependency("demo", "lib-c", "1.0", "")
+                + dependency("demo", "lib-d", "1.0", "")
+                + dependency("demo", "lib-excluded", "1.0", "")
+                + dependency("demo", "lib-optional", "1.0", "<optional>true</optional>")
+                + dependency("demo", "lib-provided", "1.0", "<scope>provided</scope>")
+                + "</dependencies>", true);
+        artifact(repository, "lib-b", "1.0", "", true);
+        artifact(repository, "lib-b", "2.0", "", true);
+        // 更深一层的 lib-d 2.0 不应覆盖更近的 1.0
+        artifact(repository, "lib-c", "1.0", "<dependencies>"
+                + dependency("demo", "lib-d", "2.0", "") + "</dependencies>", true);
+        artifact(repository, "lib-d", "1.0", "", true);
+        artifact(repository, "lib-d", "2.0", "", true);
+        artifact(repository, "lib-managed", "2.0", "", true);
+        artifact(repository, "lib-excluded", "1.0", "", true);
+        artifact(repository, "lib-optional", "1.0", "", true);
+        artifact(repository, "lib-provided", "1.0", "", true);
+        artifact(repository, "lib-test", "1.0", "", true);
+
+        List<File> jars = new MavenDependencyResolver(repository).resolveJars(Collections.singletonList(modulePom));
+        assertEquals(Arrays.asList("lib-a-1.0.jar", "lib-managed-2.0.jar", "lib-b-1.0.jar", "lib-c-1.0.jar", "lib-d-1.0.jar"),
+                names(jars));
+    }
+
+    @Test
+    public void testMissingArtifactsAreSkipped() throws IOException {
+        File repository = temporaryFolder.newFolder("repository");
+        File pom = new File(temporaryFolder.newFolder("project"), "pom.xml");
+        write(pom, project("demo", "app", "1.0", null, "<dependencies>"
+                + dependency("demo", "no-pom", "1.0", "")
+                + dependency("demo", "no-jar", "1.0", "")
+                + dependency("demo", "present", "1.0", "")
+                + "</dependencies>"));
+        artifact(repository, "no-jar", "1.0", "", false);
+        artifact(repository, "present", "1.0", "", true);
+
+        List<File> jars = new MavenDependencyResolver(repository).resolveJars(Collections.singletonList(pom));
+        assertEquals(Collections.singletonList("present-1.0.jar"), names(jars));
+    }
+
+    @Test
+    public void testFindModulePom() throws IOException {
+        File module = temporaryFolder.newFolder("module");
+        File pom = new File(module, "pom.xml");
+        write(pom, project("demo", "module", "1.0", null, ""));
+        File sourceRoot = new File(module, "src/main/java");
+        assertTrue(sourceRoot.mkdirs());
+        assertEquals(pom.getAbsoluteFile(), MavenDependencyResolver.findModulePom(sourceRoot));
+    }
+
+    private static List<String> names(List<File> jars) {
+        List<String> names = new ArrayList<>();
+        for (File jar : jars) {
+            names.add(jar.getName());
+        }
+        return names;
+    }
+
+    private static void artifact(File repository, String artifactId, String version, String body, boolean withJar)
+            throws IOException {
+        File directory = new File(repository, "demo/" + artifactId + "/" + version);
+        write(new File(directory, artifactId + "-" + version + ".pom"), project("demo", artifactId, version, null, body));
+        if (withJar) {
+            write(new File(directory, artifactId + "-" + version + ".jar"), "");
+        }
+    }
+
+    private static String project(String groupId, String artifactId, String version, String parent, String body) {
+        return "<project>" + (parent == null ? "" : parent)
+                + element("groupId", groupId) + element("artifactId", artifactId) + element("version", version)
+                + body + "</project>";
+    }
+
+    private static String parent(String groupId, String artifactId, String version) {
+        return "<parent>" + element("groupId", groupId) + element("artifactId", artifactId)
+                + element("version", version) + "</parent>";
+    }
+
+    private static String dependency(String groupId, String artifactId, String version, String extra) {
+        return "<dependency>" + element("groupId", groupId) + element("artifactId", artifactId)
+                + element("version", version) + extra + "</dependency>";
+    }
+
+    private static String element(String name, String value) {
+        return value == null ? "" : "<" + name + ">" + value + "</" + name + ">";
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,189 @@
+package com.paut.tender.mgt.inspect;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * MethodCallAnalyzer 并发压力测试
+ * 在生成的项目上先串行分析得到基准结果，再由多个线程同时调用 analyzeMethodCalls，结果必须与串行一致
+ */
+public class MethodCallAnalyzerConcurrencyTest {
+
+    private static final int SERVICES = 12;
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private InspectConfig config;
+    private final List<MethodCallAnalysisRequest> requests = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        File apiRoot = temporaryFolder.newFolder("api", "src", "main", "java");
+        File bizRoot = temporaryFolder.newFolder("biz", "src", "main", "java");
+        for (int i = 0; i < SERVICES; i++) {
+            write(bizRoot, "com/example/biz/Service" + i + ".java", service(i));
+            File controller = write(apiRoot, "com/example/api/Controller" + i + ".java", controller(i));
+            // 每个控制器方法单独一个请求，外加一个覆盖整个文件的请求
+            requests.add(new MethodCallAnalysisRequest(controller.getPath(), 9, 13));
+            requests.add(new MethodCallAnalysisRequest(controller.getPath(), 15, 18));
+            requests.add(new MethodCallAnalysisRequest(controller.getPath(), 1, 20));
+        }
+
+        config = new InspectConfig();
+        config.setProjectModules(new ArrayList<>(Arrays.asList(apiRoot.getPath(), bizRoot.getPath())));
+        config.setCacheDirectory(temporaryFolder.newFolder("cache").getPath());
+        config.setResolveMavenDependencies(false);
+        config.setWatchSources(false);
+    }
+
+    @Test
+    public void testConcurrentAnalyzeMatchesSerial() throws Exception {
+        config.setAnalysisThreads(1);
+        List<MethodCallAnalysisResult> expected = new ArrayList<>();
+        MethodCallAnalyzer serialAnalyzer = new MethodCallAnalyzer(config);
+        for (MethodCallAnalysisRequest request : requests) {
+            expected.add(serialAnalyzer.analyzeMethodCalls(request.getFilePath(), request.getStartLine(), request.getEndLine()));
+        }
+        for (MethodCallAnalysisResult result : expected) {
+            assertFalse("生成的控制器中应能找到方法调用", result.getMethodCalls().isEmpty());
+            assertTrue("跨模块调用应能解析: " + result, result.getMethodCalls().stream()
+                    .anyMatch(call -> call.getClassQualifiedName() != null
+                            && call.getClassQualifiedName().startsWith("com.example.biz.Service")));
+        }
+
+        config.setAnalysisThreads(4);
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Random random = new Random(t);
+                futures.add(executor.submit((Callable<Integer>) () -> {
+                    startSignal.await();
+                    int checked = 0;
+                    for (int round = 0; round < ROUNDS; round++) {
+                        // 各线程以不同顺序访问，增加同一文件、同一上下文被同时请求的机会
+                        List<Integer> order = new ArrayList<>();
+                        for (int i = 0; i < requests.size(); i++) {
+                            order.add(i);
+                        }
+                        Collections.shuffle(order, random);
+                        for (int index : order) {
+                            MethodCallAnalysisRequest request = requests.get(index);
+                            MethodCallAnalysisResult actual = analyzer.analyzeMethodCalls(
+                                    request.getFilePath(), request.getStartLine(), request.getEndLine());
+                            assertEquals("并发分析结果与串行不一致: " + request, expected.get(index), actual);
+                            checked++;
+                        }
+                    }
+                    return checked;
+                }));
+            }
+            startSignal.countDown();
+            int checked = 0;
+            for (Future<Integer> future : futures) {
+                checked += future.get(5, TimeUnit.MINUTES);
+            }
+            assertEquals(THREADS * ROUNDS * requests.size(), checked);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentBatchAnalyzeMatchesSerial() throws Exception {
+        config.setAnalysisThreads(1);
+        List<MethodCallAnalysisResult> expected = new MethodCallAnalyzer(config).analyzeMethodCalls(requests);
+
+        config.setAnalysisThreads(4);
+        config.setParallelBatchAnalysis(true);
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<MethodCallAnalysisResult>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> analyzer.analyzeMethodCalls(requests)));
+            }
+            for (Future<List<MethodCallAnalysisResult>> future : futures) {
+                assertEquals(expected, future.get(5, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static File write(File root, String relativePath, String content) throws IOException {
+        File file = new File(root, relativePath);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String service(int i) {
+        return "package com.example.biz;\n"
+                + "\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n"
+                + "\n"
+                + "public class Service" + i + " {\n"
+                + "    public List<String> query(String key) {\n"
+                + "        List<String> values = new ArrayList<>();\n"
+                + "        values.add(key.trim());\n"
+                + "        return values;\n"
+                + "    }\n"
+                + "\n"
+                + "    public Service" + ((i + 1) % SERVICES) + " next() {\n"
+                + "        return new Service" + ((i + 1) % SERVICES) + "();\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    /**
+     * 控制器第 9-13 行和第 15-18 行各有一个方法，调用本模块、其他模块和JDK的方法
+     */
+    private static String controller(int i) {
+        return "package com.example.api;\n"
+                + "\n"
+                + "import com.example.biz.Service" + i + ";\n"
+                + "import java.util.List;\n"
+                + "\n"
+                + "public class Controller" + i + " {\n"
+                + "    private final Service" + i + " service = new Service" + i + "();\n"
+                + "\n"
+                + "    public int list(String key) {\n"
+                + "        List<String> values = service.query(key.toUpperCase());\n"
+                + "        values.addAll(service.next().query(key));\n"
+                + "        return values.size();\n"
+                + "    }\n"
+                + "\n"
+                + "    public String first(String key) {\n"
+                + "        List<String> values = service.next().next().query(String.valueOf(key.length()));\n"
+                + "        return values.isEmpty() ? null : values.get(0).substring(0, 1);\n"
+                + "    }\n"
+                + "}\n";
+    }
+}
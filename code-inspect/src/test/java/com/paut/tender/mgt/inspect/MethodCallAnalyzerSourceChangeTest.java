@@ -0,0 +1,151 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * MethodCallAnalyzer.applySourceChanges：只影响本分析器，变化后的源码及依赖它的调用能被重新解析
+ */
+public class MethodCallAnalyzerSourceChangeTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File apiRoot;
+    private File bizRoot;
+    private File service;
+    private File controller;
+
+    @Before
+    public void setUp() throws IOException {
+        apiRoot = temporaryFolder.newFolder("api");
+        bizRoot = temporaryFolder.newFolder("biz");
+        service = write(bizRoot, "com/example/biz/Service.java", "package com.example.biz;\n"
+                + "\n"
+                + "public class Service {\n"
+                + "    public String load() { return \"\"; }\n"
+                + "}\n");
+        controller = write(apiRoot, "com/example/api/Controller.java", "package com.example.api;\n"
+                + "\n"
+                + "import com.example.biz.Service;\n"
+                + "\n"
+                + "public class Controller {\n"
+                + "    public Object get(Service service) {\n"
+                + "        return service.find();\n"
+                + "    }\n"
+                + "}\n");
+    }
+
+    @Test
+    public void testChangedSourceIsResolvedAfterApplySourceChanges() throws IOException {
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config("a"));
+        assertEquals(Boolean.FALSE, findCall(analyzer).getResolved());
+
+        write(bizRoot, "com/example/biz/Service.java", "package com.example.biz;\n"
+                + "\n"
+                + "public class Service {\n"
+                + "    public String load() { return \"\"; }\n"
+                + "    public Integer find() { return 1; }\n"
+                + "}\n");
+        analyzer.applySourceChanges(Collections.singletonList(service.toPath()));
+
+        MethodCallInfo call = findCall(analyzer);
+        assertNull("变化后的方法应能解析: " + call, call.getResolved());
+        assertEquals("com.example.biz.Service", call.getClassQualifiedName());
+    }
+
+    @Test
+    public void testChainedCallDependingOnChangedReturnTypeIsResolvedAgain() throws IOException {
+        File chained = write(apiRoot, "com/example/api/ChainedController.java", "package com.example.api;\n"
+                + "\n"
+                + "import com.example.biz.Service;\n"
+                + "\n"
+                + "public class ChainedController {\n"
+                + "    public int length(Service service) {\n"
+                + "        return service.load().length();\n"
+                + "    }\n"
+                + "}\n");
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config("a"));
+        MethodCallInfo before = findCall(analyzer, chained, "length");
+        assertEquals("java.lang.String", before.getClassQualifiedName());
+
+        // 调用所在文件没有变化，但结果依赖 load() 的返回类型
+        write(bizRoot, "com/example/biz/Service.java", "package com.example.biz;\n"
+                + "\n"
+                + "import java.util.List;\n"
+                + "\n"
+                + "public class Service {\n"
+                + "    public List<String> load() { return null; }\n"
+                + "}\n");
+        analyzer.applySourceChanges(Collections.singletonList(service.toPath()));
+
+        MethodCallInfo after = findCall(analyzer, chained, "length");
+        assertEquals(findCall(new MethodCallAnalyzer(config("fresh")), chained, "length"), after);
+        assertNotEquals("java.lang.String", after.getClassQualifiedName());
+    }
+
+    @Test
+    public void testSourceChangeDoesNotAffectOtherAnalyzers() throws IOException {
+        MethodCallAnalyzer changed = new MethodCallAnalyzer(config("a"));
+        MethodCallAnalyzer other = new MethodCallAnalyzer(config("b"));
+        TypeSolver otherTypeSolver = other.getContexts()[0].getTypeSolver();
+        JavaParserFacade otherFacade = JavaParserFacade.get(otherTypeSolver);
+        MethodCallInfo before = findCall(other);
+
+        write(bizRoot, "com/example/biz/Service.java", "package com.example.biz;\n"
+                + "\n"
+                + "public class Service {\n"
+                + "    public Integer find() { return 1; }\n"
+                + "}\n");
+        changed.applySourceChanges(Collections.singletonList(service.toPath()));
+
+        assertSame("其他分析器的 JavaParserFacade 不应被清除", otherFacade, JavaParserFacade.get(otherTypeSolver));
+        assertEquals(before, findCall(other));
+    }
+
+    private MethodCallInfo findCall(MethodCallAnalyzer analyzer) {
+        MethodCallAnalysisResult result = analyzer.analyzeMethodCalls(controller.getPath(), 6, 8);
+        assertEquals(result.toString(), 1, result.getMethodCalls().size());
+        return result.getMethodCalls().get(0);
+    }
+
+    private MethodCallInfo findCall(MethodCallAnalyzer analyzer, File file, String methodName) {
+        MethodCallAnalysisResult result = analyzer.analyzeMethodCalls(file.getPath(), 6, 8);
+        for (MethodCallInfo call : result.getMethodCalls()) {
+            if (methodName.equals(call.getMethodName())) {
+                return call;
+            }
+        }
+        throw new AssertionError("未找到方法调用 " + methodName + ": " + result);
+    }
+
+    private InspectConfig config(String cacheName) throws IOException {
+        InspectConfig config = new InspectConfig();
+        config.setProjectModules(new ArrayList<>(Arrays.asList(apiRoot.getPath(), bizRoot.getPath())));
+        config.setCacheDirectory(temporaryFolder.newFolder("cache-" + cacheName).getPath());
+        config.setResolveMavenDependencies(false);
+        config.setWatchSources(false);
+        return config;
+    }
+
+    private static File write(File root, String relativePath, String content) throws IOException {
+        File file = new File(root, relativePath);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,152 @@
+package com.paut.tender.mgt.inspect;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在生成的大文件上查找 15 行范围内的方法调用：完整遍历与按行范围剪枝遍历对比
+ * 只比较遍历本身，不包含符号解析
+ *
+ * 参数 methods 决定文件大小（约 10 行/方法）：fullTraversal 的耗时随文件增大线性增长，
+ * rangePruned 只访问包含目标行的节点，200 与 2000 个方法下应基本持平，两者之比即剪枝的收益。
+ * setUp 会先核对两种遍历找到的调用及顺序，不一致时直接失败，不输出结果
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodCallVisitorBenchmark {
+
+    private static final int WINDOW = 15;
+
+    /**
+     * 生成文件中的方法数，每个方法约 10 行
+     */
+    @Param({"200", "2000"})
+    private int methods;
+
+    private CompilationUnit cu;
+    private int startLine;
+    private int endLine;
+
+    @Setup
+    public void setUp() {
+        cu = new JavaParser().parse(generateController(methods)).getResult().get();
+        startLine = cu.getRange().get().end.line / 2;
+        endLine = startLine + WINDOW - 1;
+
+        // 两种遍历找到的调用及顺序必须一致
+        List<String> full = new ArrayList<>();
+        cu.accept(new FullTraversalVisitor(startLine, endLine), full);
+        List<String> pruned = new ArrayList<>();
+        cu.accept(new PrunedVisitor(startLine, endLine), pruned);
+        if (full.isEmpty() || !full.equals(pruned)) {
+            throw new IllegalStateException("遍历结果不一致: " + full + " / " + pruned);
+        }
+    }
+
+    @Benchmark
+    public List<String> fullTraversal() {
+        List<String> calls = new ArrayList<>();
+        cu.accept(new FullTraversalVisitor(startLine, endLine), calls);
+        return calls;
+    }
+
+    @Benchmark
+    public List<String> rangePruned() {
+        List<String> calls = new ArrayList<>();
+        cu.accept(new PrunedVisitor(startLine, endLine), calls);
+        return calls;
+    }
+
+    /**
+     * 原 MethodCallVisitor 的遍历方式：先完整下探，再检查行号
+     */
+    private static class FullTraversalVisitor extends VoidVisitorAdapter<List<String>> {
+        private final int startLine;
+        private final int endLine;
+
+        FullTraversalVisitor(int startLine, int endLine) {
+            this.startLine = startLine;
+            this.endLine = endLine;
+        }
+
+        @Override
+        public void visit(MethodCallExpr methodCall, List<String> calls) {
+            super.visit(methodCall, calls);
+            int line = methodCall.getBegin().get().line;
+            if (line >= startLine && line <= endLine) {
+                calls.add(methodCall.getNameAsString() + "@" + methodCall.getBegin().get());
+            }
+        }
+    }
+
+    private static class PrunedVisitor extends LineRangeVisitorAdapter<List<String>> {
+
+        PrunedVisitor(int startLine, int endLine) {
+            super(startLine, endLine);
+        }
+
+        @Override
+        public void visit(MethodCallExpr methodCall, List<String> calls) {
+            super.visit(methodCall, calls);
+            int line = methodCall.getBegin().get().line;
+            if (line >= startLine && line <= endLine) {
+                calls.add(methodCall.getNameAsString() + "@" + methodCall.getBegin().get());
+            }
+        }
+    }
+
+    private static String generateController(int methods) {
+        StringBuilder src = new StringBuilder();
+        src.append("package com.example.generated;\n\n");
+        src.append("import java.util.*;\n\n");
+        src.append("public class GeneratedController {\n");
+        src.append("    private final Map<String, List<String>> cache = new HashMap<>();\n\n");
+        for (int i = 0; i < methods; i++) {
+            src.append("    public List<String> query").append(i).append("(String key, int limit) {\n");
+            src.append("        List<String> values = cache.getOrDefault(key.trim(), new ArrayList<>());\n");
+            src.append("        if (values.isEmpty() && limit > ").append(i % 7).append(") {\n");
+            src.append("            values.add(String.valueOf(limit).concat(key.toLowerCase()));\n");
+            src.append("        }\n");
+            src.append("        for (String value : values) {\n");
+            src.append("            cache.computeIfAbsent(value, k -> new ArrayList<>()).add(k(value));\n");
+            src.append("        }\n");
+            src.append("        return values.subList(0, Math.min(limit, values.size()));\n");
+            src.append("    }\n\n");
+        }
+        src.append("    private String k(String value) {\n");
+        src.append("        return value.substring(0, Math.min(3, value.length()));\n");
+        src.append("    }\n");
+        src.append("}\n");
+        return src.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodCallVisitorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.paut.tender.mgt.inspect;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 缺失类型的快速失败只针对scope类型本身缺失的情况
+ * List<Missing> 缺失的是类型参数，不能把 List 登记为缺失类型，否则之后 List<String>.size() 都会被跳过
+ */
+public class MissingTypeFailFastTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private InspectConfig config;
+    private String callerPath;
+
+    @Before
+    public void setUp() throws IOException {
+        File sourceRoot = temporaryFolder.newFolder("api", "src", "main", "java");
+        File caller = new File(sourceRoot, "com/example/api/Caller.java");
+        caller.getParentFile().mkdirs();
+        Files.write(caller.toPath(), ("package com.example.api;\n"
+                + "\n"
+                + "import java.util.List;\n"
+                + "import com.example.missing.Missing;\n"
+                + "\n"
+                + "public class Caller {\n"
+                + "    public int broken(List<Missing> items) {\n"
+                + "        return items.size();\n"
+                + "    }\n"
+                + "\n"
+                + "    public int fine(List<String> names) {\n"
+                + "        return names.size();\n"
+                + "    }\n"
+                + "\n"
+                + "    public int missing(Missing value) {\n"
+                + "        return value.hashCode() + value.hashCode();\n"
+                + "    }\n"
+                + "}\n").getBytes(StandardCharsets.UTF_8));
+        callerPath = caller.getPath();
+
+        config = new InspectConfig();
+        config.setProjectModules(new ArrayList<>(Collections.singletonList(sourceRoot.getPath())));
+        config.setCacheDirectory(temporaryFolder.newFolder("cache").getPath());
+        config.setResolveMavenDependencies(false);
+        config.setWatchSources(false);
+    }
+
+    @Test
+    public void testParameterizedByMissingTypeDoesNotMarkRawTypeMissing() {
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config);
+        MethodCallInfo broken = single(analyzer.analyzeMethodCalls(callerPath, 7, 9));
+        assertEquals("size", broken.getMethodName());
+        assertEquals(Boolean.FALSE, broken.getResolved());
+
+        MethodCallInfo fine = single(analyzer.analyzeMethodCalls(callerPath, 11, 13));
+        assertNull("List<String>.size() 应能解析: " + fine, fine.getResolved());
+        assertEquals("java.util.List", fine.getClassQualifiedName());
+        assertFalse(fine.getErrorMessage(), fine.getErrorMessage() != null
+                && fine.getErrorMessage().contains("已知缺失类型"));
+
+        // 与新的分析器结果一致
+        MethodCallInfo fresh = single(new MethodCallAnalyzer(config).analyzeMethodCalls(callerPath, 11, 13));
+        assertEquals(fresh, fine);
+    }
+
+    @Test
+    public void testMissingScopeTypeFailsFast() {
+        MethodCallAnalyzer analyzer = new MethodCallAnalyzer(config);
+        List<MethodCallInfo> calls = analyzer.analyzeMethodCalls(callerPath, 15, 17).getMethodCalls();
+        assertEquals(2, calls.size());
+        for (MethodCallInfo call : calls) {
+            assertEquals(Boolean.FALSE, call.getResolved());
+        }
+        assertFalse(calls.get(0).getErrorMessage().contains("已知缺失类型"));
+        assertTrue(calls.get(1).getErrorMessage(), calls.get(1).getErrorMessage().contains("已知缺失类型"));
+    }
+
+    private static MethodCallInfo single(MethodCallAnalysisResult result) {
+        assertEquals(result.toString(), 1, result.getMethodCalls().size());
+        return result.getMethodCalls().get(0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.paut.tender.mgt.inspect;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * SourceChangeWatcher：事件合并、新建目录、非Java文件过滤和事件溢出
+ */
+public class SourceChangeWatcherTest {
+
+    private static final long DEBOUNCE_MILLIS = 300;
+    private static final Set<Path> OVERFLOW = Collections.emptySet();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final BlockingQueue<Set<Path>> notifications = new LinkedBlockingQueue<>();
+    private volatile CountDownLatch blockListener;
+    private Path root;
+    private SourceChangeWatcher watcher;
+
+    @Before
+    public void setUp() throws IOException {
+        root = temporaryFolder.newFolder("src").toPath().toRealPath();
+        Files.createDirectories(root.resolve("com/example"));
+        watcher = new SourceChangeWatcher(Collections.singletonList(root.toString()), new SourceChangeWatcher.Listener() {
+            @Override
+            public void sourcesChanged(Set<Path> changedPaths) {
+                notifications.add(new HashSet<>(changedPaths));
+                await(blockListener);
+            }
+
+            @Override
+            public void sourcesOverflowed() {
+                notifications.add(OVERFLOW);
+            }
+        }, DEBOUNCE_MILLIS);
+        watcher.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        watcher.close();
+    }
+
+    @Test
+    public void testBurstOfChangesIsDebounced() throws Exception {
+        Path a = write("com/example/A.java");
+        Path b = write("com/example/B.java");
+        Path c = write("com/example/C.java");
+        write("com/example/notes.txt");
+
+        Set<Path> changed = next();
+        assertTrue(changed.toString(), changed.containsAll(Arrays.asList(a, b, c)));
+        assertFalse("非Java文件不应通知: " + changed, changed.contains(root.resolve("com/example/notes.txt")));
+        assertNull("一批变化只应通知一次", notifications.poll(DEBOUNCE_MILLIS * 3, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testNewDirectoriesAreWatched() throws Exception {
+        Path directory = Files.createDirectories(root.resolve("com/example/sub"));
+        Set<Path> changed = next();
+        assertTrue(changed.toString(), changed.contains(directory));
+
+        // 新目录已注册，其中的文件变化可以被监听到
+        Path file = write("com/example/sub/D.java");
+        assertTrue(next().contains(file));
+
+        Files.delete(file);
+        assertTrue(next().contains(file));
+    }
+
+    @Test
+    public void testOverflowRequestsFullRefresh() throws Exception {
+        // 接收方处理第一批变化时阻塞，期间目录上积压的事件超过 WatchKey 的上限后产生 OVERFLOW
+        blockListener = new CountDownLatch(1);
+        write("com/example/First.java");
+        assertNotNull(next());
+        for (int i = 0; i < 1000; i++) {
+            write("com/example/Generated" + i + ".java");
+        }
+        blockListener.countDown();
+        assertSame(OVERFLOW, next());
+    }
+
+    private Set<Path> next() throws InterruptedException {
+        Set<Path> changed = notifications.poll(10, TimeUnit.SECONDS);
+        assertNotNull("未收到源码变化通知", changed);
+        return changed;
+    }
+
+    private Path write(String relativePath) throws IOException {
+        Path file = root.resolve(relativePath);
+        Files.write(file, "class X {}".getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static void await(CountDownLatch latch) {
+        if (latch == null) {
+            return;
+        }
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.example.depanalysis.api;
 
 import com.example.depanalysis.model.ClassSymbols;
+import com.example.depanalysis.model.InternedSymbolMap;
 import lombok.Data;
 
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -12,9 +12,17 @@ import java.util.Map;
 @Data
 public class AnalysisReport {
     /**
-     * 按类限定名分组的符号信息
+     * 按类限定名分组的符号信息，键以符号表ID存放（见 InternedSymbolMap）
      */
-    private Map<String, ClassSymbols> classes = new HashMap<>();
+    private Map<String, ClassSymbols> classes = new InternedSymbolMap<>();
+    
+    /**
+     * 合并另一份报告的符号信息
+     */
+    public void merge(AnalysisReport other) {
+        other.getClasses().forEach((qualifiedName, symbols) ->
+                classes.computeIfAbsent(qualifiedName, ClassSymbols::new).merge(symbols));
+    }
     
     /**
      * 转换为JSON格式（可选实现）
@@ -0,0 +1,49 @@
+package com.example.depanalysis.api;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 传递依赖闭包报告
+ */
+@Data
+public class ClosureReport {
+    /**
+     * 闭包中的方法：类限定名#方法名 -> 该方法的直接依赖，按到达顺序
+     */
+    private Map<String, AnalysisReport> methods = new LinkedHashMap<>();
+    
+    /**
+     * 闭包中位于项目源码内的类型 -> 首次到达时的深度
+     */
+    private Map<String, Integer> types = new LinkedHashMap<>();
+    
+    /**
+     * 被引用但不在项目源码中的类型（如依赖jar中的类型），不再展开
+     */
+    private Set<String> externalTypes = new TreeSet<>();
+    
+    /**
+     * 闭包中所有方法和类型的符号合并结果
+     */
+    private AnalysisReport symbols = new AnalysisReport();
+    
+    /**
+     * 实际展开到的最大深度
+     */
+    private int maxDepthReached;
+    
+    /**
+     * 是否因深度或节点数上限而没有完整展开
+     */
+    private boolean truncated;
+    
+    /**
+     * 未完整展开的原因
+     */
+    private String truncationReason;
+}
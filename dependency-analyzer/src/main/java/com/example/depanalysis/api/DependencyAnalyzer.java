@@ -1,12 +1,20 @@
 package com.example.depanalysis.api;
 
 import com.example.depanalysis.config.AnalysisConfig;
+import com.github.javaparser.ast.body.MethodDeclaration;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * 依赖分析器接口
+ *
+ * 分析报告按类限定名记录方法中引用的符号：引用的类型、访问的字段和枚举常量，以及调用的方法。
+ * 被调用方法的所属类即使在方法中没有以类型出现（如 service.process()），也会出现在报告中，
+ * 方法名记录在 ClassSymbols.methods，JsonExporter 导出的 "methods" 为其数量
  */
 public interface DependencyAnalyzer {
     /**
@@ -19,4 +27,50 @@ public interface DependencyAnalyzer {
      * @throws IOException 文件读取异常
      */
     AnalysisReport analyze(File javaFile, String methodName, AnalysisConfig cfg) throws IOException;
+
+    /**
+     * 分析指定Java文件中多个方法的依赖关系，文件只解析和遍历一次
+     *
+     * @param javaFile 要分析的Java源文件
+     * @param methodNames 目标方法名
+     * @param cfg 分析配置
+     * @return 方法名 -> 分析报告，按方法在文件中出现的顺序；文件中不存在的方法没有对应的报告
+     * @throws IOException 文件读取异常
+     */
+    Map<String, AnalysisReport> analyze(File javaFile, Set<String> methodNames, AnalysisConfig cfg) throws IOException;
+
+    /**
+     * 分析指定Java文件中所有满足条件的方法的依赖关系，文件只解析和遍历一次
+     * 常用条件见 MethodFilters，如所有 public 方法、所有请求处理方法
+     *
+     * @param javaFile 要分析的Java源文件
+     * @param methodFilter 目标方法的过滤条件
+     * @param cfg 分析配置
+     * @return 方法名 -> 分析报告，按方法在文件中出现的顺序，重载方法合并到同一份报告
+     * @throws IOException 文件读取异常
+     */
+    Map<String, AnalysisReport> analyze(File javaFile, Predicate<MethodDeclaration> methodFilter, AnalysisConfig cfg)
+            throws IOException;
+
+    /**
+     * 分析源码根目录下所有Java文件中满足条件的方法，按 cfg.parallelism 并行处理
+     *
+     * @param methodFilter 目标方法的过滤条件
+     * @param cfg 分析配置
+     * @return 按方法索引的项目分析报告
+     * @throws IOException 源码目录读取异常
+     */
+    ProjectAnalysisReport analyzeProject(Predicate<MethodDeclaration> methodFilter, AnalysisConfig cfg) throws IOException;
+
+    /**
+     * 计算指定Java文件中目标方法的传递依赖闭包：沿项目源码展开被引用的类型和被调用的方法，
+     * 展开深度和节点数受 cfg.closureMaxDepth、cfg.closureMaxNodes 限制
+     *
+     * @param javaFile 要分析的Java源文件
+     * @param methodName 目标方法名
+     * @param cfg 分析配置
+     * @return 依赖闭包报告
+     * @throws IOException 文件读取异常
+     */
+    ClosureReport analyzeClosure(File javaFile, String methodName, AnalysisConfig cfg) throws IOException;
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.example.depanalysis.api;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 项目批量分析报告
+ */
+@Data
+public class ProjectAnalysisReport {
+    /**
+     * 方法索引：类限定名#方法名 -> 该方法的分析报告，重载方法合并到同一份报告
+     */
+    private Map<String, AnalysisReport> methods = new TreeMap<>();
+    
+    /**
+     * 分析的源文件数
+     */
+    private int fileCount;
+    
+    /**
+     * 解析或分析失败的源文件
+     */
+    private List<String> failedFiles = new ArrayList<>();
+    
+    /**
+     * 并行度
+     */
+    private int parallelism;
+    
+    /**
+     * 耗时（毫秒）
+     */
+    private long elapsedMillis;
+    
+    /**
+     * 每秒分析的文件数
+     */
+    public double getFilesPerSecond() {
+        return elapsedMillis == 0 ? 0 : fileCount * 1000.0 / elapsedMillis;
+    }
+    
+    /**
+     * 每秒分析的方法数
+     */
+    public double getMethodsPerSecond() {
+        return elapsedMillis == 0 ? 0 : methods.size() * 1000.0 / elapsedMillis;
+    }
+}
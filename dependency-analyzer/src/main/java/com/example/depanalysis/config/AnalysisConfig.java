@@ -20,4 +20,19 @@ public class AnalysisConfig {
      * 是否忽略无法解析的符号
      */
     private boolean ignoreUnresolved = true;
+    
+    /**
+     * 项目批量分析的并行度，默认为CPU核数
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * 依赖闭包的最大展开深度，目标方法为第0层
+     */
+    private int closureMaxDepth = 8;
+    
+    /**
+     * 依赖闭包最多展开的节点数（方法和类型）
+     */
+    private int closureMaxNodes = 5000;
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.example.depanalysis.impl;
+
+import com.example.depanalysis.api.AnalysisReport;
+import com.example.depanalysis.api.ClosureReport;
+import com.example.depanalysis.config.AnalysisConfig;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 分析会话
+ * 持有同一组源码根目录的TypeSolver、JavaParserFacade和JavaParser，多次分析之间复用，
+ * 源码根目录中已解析的类型及其解析结果不会被丢弃
+ *
+ * 会话不感知源码的修改，源码变化后需要创建新的会话；
+ * JavaParser和类型解析器不是线程安全的，同一会话的分析串行执行
+ */
+@Slf4j
+public class AnalyzerSession {
+
+    private final List<Path> sourceRoots;
+    private final JavaParserFacade facade;
+    private final JavaParser parser = new JavaParser();
+    private final DependencyClosureEngine closureEngine;
+    private int analyzedCount;
+
+    public AnalyzerSession(List<Path> sourceRoots) {
+        this.sourceRoots = Collections.unmodifiableList(new ArrayList<>(sourceRoots));
+        this.facade = JavaParserFacade.get(createTypeSolver(this.sourceRoots));
+        this.closureEngine = new DependencyClosureEngine(facade);
+    }
+
+    public List<Path> getSourceRoots() {
+        return sourceRoots;
+    }
+
+    /**
+     * 分析指定Java文件中目标方法的依赖关系
+     */
+    public synchronized AnalysisReport analyze(File javaFile, String methodName, AnalysisConfig cfg) throws IOException {
+        // 创建分析报告
+        AnalysisReport report = new AnalysisReport();
+
+        // 创建方法过滤访问器
+        MethodFilterVisitor methodFilter = new MethodFilterVisitor(methodName, facade, report, cfg);
+
+        // 开始访问
+        parse(javaFile).accept(methodFilter, null);
+
+        analyzedCount++;
+        return report;
+    }
+
+    /**
+     * 分析指定Java文件中所有满足条件的方法，一次遍历，每个方法名一份报告
+     */
+    public synchronized Map<String, AnalysisReport> analyze(File javaFile, Predicate<MethodDeclaration> methodFilter,
+                                                            AnalysisConfig cfg) throws IOException {
+        Map<String, AnalysisReport> reports = new LinkedHashMap<>();
+        parse(javaFile).accept(new MethodFilterVisitor(methodFilter, facade, reports, cfg), null);
+        analyzedCount += reports.size();
+        return reports;
+    }
+
+    /**
+     * 分析指定Java文件中所有满足条件的方法，每个方法的依赖写入 reportForMethod 返回的报告
+     */
+    public synchronized void analyze(File javaFile, Predicate<MethodDeclaration> methodFilter,
+                                     Function<MethodDeclaration, AnalysisReport> reportForMethod,
+                                     AnalysisConfig cfg) throws IOException {
+        parse(javaFile).accept(new MethodFilterVisitor(methodFilter, md -> {
+            analyzedCount++;
+            return reportForMethod.apply(md);
+        }, facade, cfg), null);
+    }
+
+    /**
+     * 计算目标方法的传递依赖闭包，各方法和类型的直接依赖在会话内缓存
+     */
+    public synchronized ClosureReport closure(File javaFile, String methodName, AnalysisConfig cfg) throws IOException {
+        List<MethodDeclaration> roots = parse(javaFile).findAll(MethodDeclaration.class,
+                md -> methodName.equals(md.getNameAsString()));
+        return closureEngine.closure(roots, cfg);
+    }
+
+    private CompilationUnit parse(File javaFile) throws IOException {
+        return parser.parse(javaFile).getResult()
+                .orElseThrow(() -> new IOException("无法解析Java文件: " + javaFile));
+    }
+
+    /**
+     * 本会话已分析的方法数
+     */
+    public synchronized int getAnalyzedCount() {
+        return analyzedCount;
+    }
+
+    /**
+     * 创建TypeSolver
+     */
+    private static CombinedTypeSolver createTypeSolver(List<Path> sourceRoots) {
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+
+        // 添加源码根目录
+        for (Path root : sourceRoots) {
+            typeSolver.add(new JavaParserTypeSolver(root.toFile()));
+        }
+
+        // 添加反射类型解析器（保持JDK类型可解析）
+        typeSolver.add(new ReflectionTypeSolver());
+
+        // 注意：不添加JarTypeSolver，jar包中的类将被忽略
+
+        return typeSolver;
+    }
+}
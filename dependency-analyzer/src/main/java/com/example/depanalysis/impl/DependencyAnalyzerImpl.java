@@ -2,68 +2,91 @@ package com.example.depanalysis.impl;
 
 import com.example.depanalysis.config.AnalysisConfig;
 import com.example.depanalysis.api.AnalysisReport;
+import com.example.depanalysis.api.ClosureReport;
 import com.example.depanalysis.api.DependencyAnalyzer;
-import com.github.javaparser.JavaParser;
-import com.github.javaparser.ast.CompilationUnit;
-import com.github.javaparser.resolution.TypeSolver;
-import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import com.example.depanalysis.api.ProjectAnalysisReport;
+import com.example.depanalysis.util.MethodFilters;
+import com.github.javaparser.ast.body.MethodDeclaration;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * 依赖分析器实现类
+ * 按源码根目录缓存分析会话，同一项目的多次分析复用已解析的类型，源码变化后调用 clearSessions()
  */
 @Slf4j
 public class DependencyAnalyzerImpl implements DependencyAnalyzer {
+
+    /**
+     * 源码根目录 -> 分析会话
+     */
+    private final Map<List<Path>, AnalyzerSession> sessions = new HashMap<>();
     
     @Override
     public AnalysisReport analyze(File javaFile, String methodName, AnalysisConfig cfg) throws IOException {
         log.info("开始分析文件: {}, 方法: {}", javaFile.getAbsolutePath(), methodName);
         
-        // 创建TypeSolver
-        TypeSolver typeSolver = createTypeSolver(cfg);
-        JavaParserFacade facade = JavaParserFacade.get(typeSolver);
-        
-        // 解析Java文件
-        JavaParser parser = new JavaParser();
-        CompilationUnit cu = parser.parse(javaFile).getResult()
-                .orElseThrow(() -> new IOException("无法解析Java文件: " + javaFile));
-        
-        // 创建分析报告
-        AnalysisReport report = new AnalysisReport();
-        
-        // 创建方法过滤访问器
-        MethodFilterVisitor methodFilter = new MethodFilterVisitor(methodName, facade, report, cfg);
-        
-        // 开始访问
-        cu.accept(methodFilter, null);
+        AnalysisReport report = getSession(cfg).analyze(javaFile, methodName, cfg);
         
         log.info("分析完成，找到 {} 个类的依赖", report.getClasses().size());
         return report;
     }
-    
+
+    @Override
+    public Map<String, AnalysisReport> analyze(File javaFile, Set<String> methodNames, AnalysisConfig cfg) throws IOException {
+        return analyze(javaFile, MethodFilters.named(methodNames), cfg);
+    }
+
+    @Override
+    public Map<String, AnalysisReport> analyze(File javaFile, Predicate<MethodDeclaration> methodFilter, AnalysisConfig cfg)
+            throws IOException {
+        log.info("开始分析文件: {}", javaFile.getAbsolutePath());
+
+        Map<String, AnalysisReport> reports = getSession(cfg).analyze(javaFile, methodFilter, cfg);
+
+        log.info("分析完成，共分析 {} 个方法", reports.size());
+        return reports;
+    }
+
+    @Override
+    public ProjectAnalysisReport analyzeProject(Predicate<MethodDeclaration> methodFilter, AnalysisConfig cfg)
+            throws IOException {
+        return new ProjectDependencyExtractor(cfg, methodFilter).extract();
+    }
+
+    @Override
+    public ClosureReport analyzeClosure(File javaFile, String methodName, AnalysisConfig cfg) throws IOException {
+        log.info("开始计算依赖闭包: {}, 方法: {}", javaFile.getAbsolutePath(), methodName);
+        return getSession(cfg).closure(javaFile, methodName, cfg);
+    }
+
     /**
-     * 创建TypeSolver
+     * 获取配置的源码根目录对应的分析会话，不存在时创建
      */
-    private TypeSolver createTypeSolver(AnalysisConfig cfg) {
-        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
-        
-        // 添加源码根目录
-        for (Path root : cfg.getSourceRoots()) {
-            typeSolver.add(new JavaParserTypeSolver(root.toFile()));
+    public synchronized AnalyzerSession getSession(AnalysisConfig cfg) {
+        List<Path> sourceRoots = new ArrayList<>(cfg.getSourceRoots());
+        AnalyzerSession session = sessions.get(sourceRoots);
+        if (session == null) {
+            session = new AnalyzerSession(sourceRoots);
+            sessions.put(session.getSourceRoots(), session);
+            log.info("创建分析会话，源码根目录: {}", sourceRoots);
         }
-        
-        // 添加反射类型解析器（保持JDK类型可解析）
-        typeSolver.add(new ReflectionTypeSolver());
-        
-        // 注意：不添加JarTypeSolver，jar包中的类将被忽略
-        
-        return typeSolver;
+        return session;
+    }
+
+    /**
+     * 丢弃所有分析会话，源码变化后调用，下次分析时重新创建
+     */
+    public synchronized void clearSessions() {
+        sessions.clear();
     }
-}
\ No newline at end of file
+}
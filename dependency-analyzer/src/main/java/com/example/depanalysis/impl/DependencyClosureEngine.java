@@ -0,0 +1,267 @@
+package com.example.depanalysis.impl;
+
+import com.example.depanalysis.api.AnalysisReport;
+import com.example.depanalysis.api.ClosureReport;
+import com.example.depanalysis.config.AnalysisConfig;
+import com.example.depanalysis.model.ClassSymbols;
+import com.example.depanalysis.util.SymbolHelper;
+import com.github.javaparser.ast.body.BodyDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.InitializerDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 传递依赖闭包计算
+ * 从目标方法出发，用 MethodDependencyCollector 收集每个节点的直接依赖，按广度优先沿项目源码展开：
+ * 1. 方法节点：收集方法体中引用的类型、字段和调用的方法，被调用的方法和引用的类型加入工作队列
+ * 2. 类型节点：收集父类型、字段、构造器和初始化块中的依赖（不含普通方法，方法只在被调用时展开）
+ *
+ * JDK及排除前缀的类型由收集器过滤，不在项目源码中的类型记为外部类型，都不再展开；
+ * 接口方法只展开声明，不查找实现类。
+ * 每个节点的直接依赖按 类限定名#方法名 / 类限定名 缓存，同一会话中的多次计算共用；
+ * ignoreUnresolved 不同时收集器对解析失败的处理不同（忽略或抛出异常），两种配置分别缓存；
+ * 深度和节点数上限保证大型服务层的闭包计算在有限时间和内存内结束
+ *
+ * 与所属的 AnalyzerSession 一样不是线程安全的
+ */
+@Slf4j
+public class DependencyClosureEngine {
+    
+    private final JavaParserFacade facade;
+    
+    /**
+     * ignoreUnresolved -> 该配置下收集的直接依赖
+     */
+    private final Map<Boolean, DependencyMemo> memos = new HashMap<>();
+    
+    public DependencyClosureEngine(JavaParserFacade facade) {
+        this.facade = facade;
+    }
+    
+    /**
+     * 计算目标方法的传递依赖闭包
+     *
+     * @param roots 目标方法，同名重载方法作为同一个节点
+     * @param cfg   分析配置，closureMaxDepth、closureMaxNodes 限制展开的深度和节点数
+     */
+    public ClosureReport closure(List<MethodDeclaration> roots, AnalysisConfig cfg) {
+        ClosureReport report = new ClosureReport();
+        DependencyMemo memo = memos.computeIfAbsent(cfg.isIgnoreUnresolved(), ignoreUnresolved -> new DependencyMemo());
+        Deque<Node> worklist = new ArrayDeque<>();
+        Set<String> seen = new HashSet<>();
+        
+        // 目标方法所在文件不一定位于源码根目录中，直接使用传入的声明
+        Map<String, List<MethodDeclaration>> rootDeclarations = new LinkedHashMap<>();
+        for (MethodDeclaration md : roots) {
+            String typeName = SymbolHelper.declaringTypeName(md);
+            String key = SymbolHelper.methodKey(typeName, md.getNameAsString());
+            rootDeclarations.computeIfAbsent(key, k -> new ArrayList<>()).add(md);
+            if (seen.add(key)) {
+                worklist.add(new Node(typeName, md.getNameAsString(), 0));
+            }
+            if (seen.add(typeName)) {
+                worklist.add(new Node(typeName, null, 0));
+            }
+        }
+        
+        int expanded = 0;
+        while (!worklist.isEmpty()) {
+            if (expanded >= cfg.getClosureMaxNodes()) {
+                truncate(report, "节点数超过上限 " + cfg.getClosureMaxNodes());
+                break;
+            }
+            Node node = worklist.poll();
+            
+            Optional<AnalysisReport> dependencies;
+            if (node.isMethod()) {
+                List<MethodDeclaration> declarations = rootDeclarations.get(node.key());
+                dependencies = declarations != null
+                        ? Optional.of(memo.methods.computeIfAbsent(node.key(), key -> collect(declarations, cfg)))
+                        : methodDependencies(memo, node.typeName, node.methodName, cfg);
+            } else {
+                dependencies = typeDependencies(memo, node.typeName, cfg);
+            }
+            if (!dependencies.isPresent()) {
+                report.getExternalTypes().add(node.typeName);
+                continue;
+            }
+            
+            expanded++;
+            if (node.isMethod()) {
+                report.getMethods().put(node.key(), dependencies.get());
+            } else {
+                report.getTypes().put(node.typeName, node.depth);
+            }
+            report.getSymbols().merge(dependencies.get());
+            report.setMaxDepthReached(Math.max(report.getMaxDepthReached(), node.depth));
+            
+            for (ClassSymbols symbols : dependencies.get().getClasses().values()) {
+                String typeName = symbols.getClassQualifiedName();
+                List<Node> next = new ArrayList<>();
+                next.add(new Node(typeName, null, node.depth + 1));
+                for (String methodName : symbols.getMethods()) {
+                    next.add(new Node(typeName, methodName, node.depth + 1));
+                }
+                for (Node dependency : next) {
+                    if (seen.contains(dependency.key())) {
+                        continue;
+                    }
+                    if (dependency.depth > cfg.getClosureMaxDepth()) {
+                        truncate(report, "深度超过上限 " + cfg.getClosureMaxDepth());
+                        continue;
+                    }
+                    seen.add(dependency.key());
+                    worklist.add(dependency);
+                }
+            }
+        }
+        
+        log.info("依赖闭包计算完成，{} 个方法、{} 个类型、{} 个外部类型，最大深度 {}{}",
+                report.getMethods().size(), report.getTypes().size(), report.getExternalTypes().size(),
+                report.getMaxDepthReached(), report.isTruncated() ? "（" + report.getTruncationReason() + "，未完整展开）" : "");
+        return report;
+    }
+    
+    private Optional<AnalysisReport> methodDependencies(DependencyMemo memo, String typeName, String methodName,
+                                                        AnalysisConfig cfg) {
+        String key = SymbolHelper.methodKey(typeName, methodName);
+        AnalysisReport cached = memo.methods.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<TypeDeclaration<?>> type = findTypeDeclaration(typeName);
+        if (!type.isPresent()) {
+            return Optional.empty();
+        }
+        // 方法调用解析出的所属类就是声明该方法的类型；找不到声明时（如枚举隐式的 values()）直接依赖为空
+        List<MethodDeclaration> declarations = type.get().getMethodsByName(methodName);
+        AnalysisReport dependencies = collect(declarations, cfg);
+        memo.methods.put(key, dependencies);
+        return Optional.of(dependencies);
+    }
+    
+    private Optional<AnalysisReport> typeDependencies(DependencyMemo memo, String typeName, AnalysisConfig cfg) {
+        Optional<AnalysisReport> cached = memo.types.get(typeName);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<AnalysisReport> dependencies = findTypeDeclaration(typeName).map(type -> {
+            AnalysisReport report = new AnalysisReport();
+            MethodDependencyCollector collector = new MethodDependencyCollector(facade, report, cfg);
+            if (type instanceof ClassOrInterfaceDeclaration) {
+                ClassOrInterfaceDeclaration declaration = (ClassOrInterfaceDeclaration) type;
+                declaration.getExtendedTypes().forEach(t -> t.accept(collector, null));
+                declaration.getImplementedTypes().forEach(t -> t.accept(collector, null));
+            } else if (type instanceof EnumDeclaration) {
+                EnumDeclaration declaration = (EnumDeclaration) type;
+                declaration.getImplementedTypes().forEach(t -> t.accept(collector, null));
+                declaration.getEntries().forEach(entry -> entry.accept(collector, null));
+            }
+            for (BodyDeclaration<?> member : type.getMembers()) {
+                if (member instanceof FieldDeclaration || member instanceof ConstructorDeclaration
+                        || member instanceof InitializerDeclaration) {
+                    member.accept(collector, null);
+                }
+            }
+            // 类型自身不作为自己的依赖
+            report.getClasses().remove(typeName);
+            return report;
+        });
+        memo.types.put(typeName, dependencies);
+        return dependencies;
+    }
+    
+    private AnalysisReport collect(List<MethodDeclaration> declarations, AnalysisConfig cfg) {
+        AnalysisReport report = new AnalysisReport();
+        MethodDependencyCollector collector = new MethodDependencyCollector(facade, report, cfg);
+        for (MethodDeclaration declaration : declarations) {
+            declaration.accept(collector, null);
+        }
+        return report;
+    }
+    
+    /**
+     * 在项目源码中查找类型声明，JDK、排除前缀以及依赖jar中的类型返回空
+     */
+    private Optional<TypeDeclaration<?>> findTypeDeclaration(String typeName) {
+        if (!MethodDependencyCollector.isTracked(typeName)) {
+            return Optional.empty();
+        }
+        try {
+            SymbolReference<ResolvedReferenceTypeDeclaration> ref = facade.getTypeSolver().tryToSolveType(typeName);
+            if (!ref.isSolved()) {
+                return Optional.empty();
+            }
+            return ref.getCorrespondingDeclaration().toAst()
+                    .filter(TypeDeclaration.class::isInstance)
+                    .map(node -> (TypeDeclaration<?>) node);
+        } catch (Exception e) {
+            log.debug("无法查找类型声明: {}", typeName, e);
+            return Optional.empty();
+        }
+    }
+    
+    private static void truncate(ClosureReport report, String reason) {
+        if (!report.isTruncated()) {
+            report.setTruncated(true);
+            report.setTruncationReason(reason);
+        }
+    }
+    
+    /**
+     * 同一 ignoreUnresolved 配置下缓存的直接依赖
+     */
+    private static class DependencyMemo {
+        /**
+         * 方法键 -> 方法的直接依赖
+         */
+        private final Map<String, AnalysisReport> methods = new HashMap<>();
+        
+        /**
+         * 类限定名 -> 类结构的直接依赖，不在项目源码中的类型为 Optional.empty()
+         */
+        private final Map<String, Optional<AnalysisReport>> types = new HashMap<>();
+    }
+    
+    /**
+     * 工作队列中的节点：methodName 为 null 时表示类型节点
+     */
+    private static class Node {
+        private final String typeName;
+        private final String methodName;
+        private final int depth;
+        
+        Node(String typeName, String methodName, int depth) {
+            this.typeName = typeName;
+            this.methodName = methodName;
+            this.depth = depth;
+        }
+        
+        boolean isMethod() {
+            return methodName != null;
+        }
+        
+        String key() {
+            return isMethod() ? SymbolHelper.methodKey(typeName, methodName) : typeName;
+        }
+    }
+}
@@ -106,6 +106,22 @@ public class MethodDependencyCollector extends VoidVisitorAdapter<Void> {
         super.visit(n, arg);
     }
     
+    @Override
+    public void visit(MethodCallExpr n, Void arg) {
+        try {
+            // 处理方法调用，记录被调用方法所在的类和方法名
+            String[] result = SymbolHelper.resolveMethodCall(n, facade);
+            if (result != null && result.length == 2) {
+                String ownerQualifiedName = result[0];
+                String methodName = result[1];
+                store(ownerQualifiedName, symbols -> symbols.getMethods().add(methodName));
+            }
+        } catch (Exception e) {
+            handleResolutionError("方法调用", n.toString(), e);
+        }
+        super.visit(n, arg);
+    }
+    
     @Override
     public void visit(NameExpr n, Void arg) {
         try {
@@ -151,7 +167,7 @@ public class MethodDependencyCollector extends VoidVisitorAdapter<Void> {
     /**
      * 判断是否需要跟踪该类
      */
-    private boolean isTracked(String qualifiedName) {
+    static boolean isTracked(String qualifiedName) {
         return EXCLUDED_PREFIXES.stream().noneMatch(qualifiedName::startsWith);
     }
     
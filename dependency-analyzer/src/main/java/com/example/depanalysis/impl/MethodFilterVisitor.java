@@ -7,33 +7,56 @@ import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
 /**
  * 方法过滤访问器
- * 扫描MethodDeclaration，匹配方法名后执行依赖收集
+ * 扫描MethodDeclaration，匹配过滤条件后执行依赖收集
+ * 一次遍历可以处理多个目标方法，每个方法名对应一份报告（重载方法合并到同一份报告）
  */
 @Slf4j
 public class MethodFilterVisitor extends VoidVisitorAdapter<Void> {
     
-    private final String targetMethodName;
+    private final Predicate<MethodDeclaration> filter;
+    private final Function<MethodDeclaration, AnalysisReport> reportForMethod;
     private final JavaParserFacade facade;
-    private final AnalysisReport report;
     private final AnalysisConfig config;
     
     public MethodFilterVisitor(String targetMethodName, JavaParserFacade facade, 
                               AnalysisReport report, AnalysisConfig config) {
-        this.targetMethodName = targetMethodName;
+        this(md -> targetMethodName.equals(md.getNameAsString()), md -> report, facade, config);
+    }
+
+    /**
+     * @param filter  目标方法的过滤条件
+     * @param reports 方法名 -> 分析报告，匹配的方法按名称写入，报告不存在时创建
+     */
+    public MethodFilterVisitor(Predicate<MethodDeclaration> filter, JavaParserFacade facade,
+                              Map<String, AnalysisReport> reports, AnalysisConfig config) {
+        this(filter, md -> reports.computeIfAbsent(md.getNameAsString(), name -> new AnalysisReport()), facade, config);
+    }
+
+    /**
+     * @param filter          目标方法的过滤条件
+     * @param reportForMethod 匹配的方法 -> 写入的分析报告
+     */
+    public MethodFilterVisitor(Predicate<MethodDeclaration> filter, Function<MethodDeclaration, AnalysisReport> reportForMethod,
+                               JavaParserFacade facade, AnalysisConfig config) {
+        this.filter = filter;
+        this.reportForMethod = reportForMethod;
         this.facade = facade;
-        this.report = report;
         this.config = config;
     }
     
     @Override
     public void visit(MethodDeclaration md, Void arg) {
-        if (targetMethodName.equals(md.getNameAsString())) {
-            log.info("找到目标方法: {}", targetMethodName);
+        if (filter.test(md)) {
+            log.debug("找到目标方法: {}", md.getNameAsString());
             
             // 创建依赖收集器
-            MethodDependencyCollector collector = new MethodDependencyCollector(facade, report, config);
+            MethodDependencyCollector collector = new MethodDependencyCollector(facade, reportForMethod.apply(md), config);
             
             // 访问方法体，收集依赖
             md.accept(collector, null);
@@ -45,4 +68,4 @@ public class MethodFilterVisitor extends VoidVisitorAdapter<Void> {
         // 继续访问其他方法
         super.visit(md, arg);
     }
-}
\ No newline at end of file
+}
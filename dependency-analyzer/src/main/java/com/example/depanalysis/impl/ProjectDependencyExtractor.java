@@ -0,0 +1,158 @@
+package com.example.depanalysis.impl;
+
+import com.example.depanalysis.api.AnalysisReport;
+import com.example.depanalysis.api.ProjectAnalysisReport;
+import com.example.depanalysis.config.AnalysisConfig;
+import com.example.depanalysis.util.SymbolHelper;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 项目批量依赖提取
+ * 枚举源码根目录下的所有Java文件，在 ForkJoinPool 中按文件区间递归拆分任务，
+ * 每个工作线程使用自己的分析会话（JavaParser、TypeSolver不是线程安全的），
+ * 每个文件的结果先在线程内收集，再合并到按方法索引的结果中
+ *
+ * 每个工作线程的会话各自解析源码根目录中被引用的类型，内存占用随并行度增加
+ */
+@Slf4j
+public class ProjectDependencyExtractor {
+    
+    /**
+     * 每个工作线程期望分到的任务数，拆分得更细便于负载均衡
+     */
+    private static final int TASKS_PER_THREAD = 8;
+    
+    private final AnalysisConfig config;
+    private final Predicate<MethodDeclaration> methodFilter;
+    
+    public ProjectDependencyExtractor(AnalysisConfig config, Predicate<MethodDeclaration> methodFilter) {
+        this.config = config;
+        this.methodFilter = methodFilter;
+    }
+    
+    /**
+     * 分析所有源文件中满足条件的方法
+     */
+    public ProjectAnalysisReport extract() throws IOException {
+        long start = System.currentTimeMillis();
+        List<File> files = listJavaFiles(config.getSourceRoots());
+        int parallelism = Math.max(1, config.getParallelism());
+        log.info("开始批量分析，共 {} 个源文件，并行度 {}", files.size(), parallelism);
+        
+        Map<String, AnalysisReport> methods = new ConcurrentHashMap<>();
+        Queue<String> failedFiles = new ConcurrentLinkedQueue<>();
+        List<Path> sourceRoots = new ArrayList<>(config.getSourceRoots());
+        ThreadLocal<AnalyzerSession> sessions = ThreadLocal.withInitial(() -> new AnalyzerSession(sourceRoots));
+        int threshold = Math.max(1, files.size() / (parallelism * TASKS_PER_THREAD));
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ExtractTask(files, 0, files.size(), threshold, sessions, methods, failedFiles));
+        } finally {
+            pool.shutdown();
+        }
+        
+        ProjectAnalysisReport report = new ProjectAnalysisReport();
+        report.getMethods().putAll(methods);
+        report.getFailedFiles().addAll(failedFiles);
+        report.setFileCount(files.size());
+        report.setParallelism(parallelism);
+        report.setElapsedMillis(System.currentTimeMillis() - start);
+        log.info("批量分析完成，{} 个文件、{} 个方法，失败 {} 个文件，耗时 {} ms（{} 文件/秒，{} 方法/秒）",
+                report.getFileCount(), report.getMethods().size(), report.getFailedFiles().size(),
+                report.getElapsedMillis(), String.format("%.1f", report.getFilesPerSecond()),
+                String.format("%.1f", report.getMethodsPerSecond()));
+        return report;
+    }
+    
+    /**
+     * 按文件区间递归拆分的分析任务
+     */
+    private class ExtractTask extends RecursiveAction {
+        private final List<File> files;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final ThreadLocal<AnalyzerSession> sessions;
+        private final Map<String, AnalysisReport> methods;
+        private final Queue<String> failedFiles;
+        
+        ExtractTask(List<File> files, int from, int to, int threshold, ThreadLocal<AnalyzerSession> sessions,
+                    Map<String, AnalysisReport> methods, Queue<String> failedFiles) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.sessions = sessions;
+            this.methods = methods;
+            this.failedFiles = failedFiles;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                for (int i = from; i < to; i++) {
+                    analyzeFile(files.get(i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ExtractTask(files, from, mid, threshold, sessions, methods, failedFiles),
+                    new ExtractTask(files, mid, to, threshold, sessions, methods, failedFiles));
+        }
+        
+        private void analyzeFile(File file) {
+            Map<String, AnalysisReport> fileReports = new HashMap<>();
+            try {
+                sessions.get().analyze(file, methodFilter,
+                        md -> fileReports.computeIfAbsent(
+                                SymbolHelper.methodKey(SymbolHelper.declaringTypeName(md), md.getNameAsString()),
+                                key -> new AnalysisReport()), config);
+            } catch (Exception e) {
+                log.warn("分析文件失败: {}, 错误: {}", file, e.getMessage());
+                failedFiles.add(file.getPath());
+                return;
+            }
+            // 同名类出现在多个源码根目录中时合并，ConcurrentHashMap.merge 对同一键是原子的
+            fileReports.forEach((key, report) -> methods.merge(key, report, (existing, added) -> {
+                existing.merge(added);
+                return existing;
+            }));
+        }
+    }
+    
+    private static List<File> listJavaFiles(List<Path> sourceRoots) throws IOException {
+        List<File> files = new ArrayList<>();
+        for (Path root : sourceRoots) {
+            if (!Files.isDirectory(root)) {
+                log.warn("源码根目录不存在: {}", root);
+                continue;
+            }
+            try (Stream<Path> paths = Files.walk(root)) {
+                files.addAll(paths.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                        .sorted()
+                        .map(Path::toFile)
+                        .collect(Collectors.toList()));
+            }
+        }
+        return files;
+    }
+}
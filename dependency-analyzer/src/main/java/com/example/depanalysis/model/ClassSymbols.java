@@ -1,41 +1,77 @@
 package com.example.depanalysis.model;
 
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
  * 类符号信息
+ * 类名、字段名等名称以符号表ID存放（见 SymbolTable），集合为空或只有一个元素时几乎不占内存，
+ * 对外仍以 String 和 Set<String> 访问
  */
-@Data
+@Getter
+@EqualsAndHashCode
+@ToString
 public class ClassSymbols {
     /**
-     * 类的限定名
+     * 类限定名在符号表中的ID
      */
-    private final String classQualifiedName;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final int classId;
     
     /**
      * 字段名集合（实例字段和静态字段）
      */
-    private final Set<String> fields = new HashSet<>();
+    private final Set<String> fields = new InternedStringSet();
     
     /**
      * 枚举常量名集合
      */
-    private final Set<String> enumConstants = new HashSet<>();
+    private final Set<String> enumConstants = new InternedStringSet();
+    
+    /**
+     * 被调用的方法名集合
+     */
+    private final Set<String> methods = new InternedStringSet();
     
     /**
      * 注解类型名集合
      */
-    private final Set<String> annotations = new HashSet<>();
+    private final Set<String> annotations = new InternedStringSet();
     
     /**
      * 是否作为类型被引用
      */
+    @Setter
     private boolean referencedAsType = false;
     
     public ClassSymbols(String classQualifiedName) {
-        this.classQualifiedName = classQualifiedName;
+        this.classId = SymbolTable.getDefault().intern(classQualifiedName);
+    }
+    
+    /**
+     * 类的限定名
+     */
+    @EqualsAndHashCode.Include
+    @ToString.Include(name = "classQualifiedName", rank = 1)
+    public String getClassQualifiedName() {
+        return SymbolTable.getDefault().name(classId);
+    }
+    
+    /**
+     * 合并另一份同一类的符号信息
+     */
+    public void merge(ClassSymbols other) {
+        fields.addAll(other.getFields());
+        enumConstants.addAll(other.getEnumConstants());
+        methods.addAll(other.getMethods());
+        annotations.addAll(other.getAnnotations());
+        referencedAsType |= other.isReferencedAsType();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,101 @@
+package com.example.depanalysis.model;
+
+import java.util.Arrays;
+
+/**
+ * 紧凑的int集合：空集合不分配数组，单个元素直接存放在字段中，两个及以上时使用有序数组
+ * 分析报告中的符号集合大多为空或只有一两个元素，比 HashSet 节省大量内存
+ *
+ * 不是线程安全的
+ */
+final class CompactIntSet {
+
+    private int single;
+    private int[] values;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        return size == 1 ? single : values[index];
+    }
+
+    boolean contains(int value) {
+        if (size == 1) {
+            return single == value;
+        }
+        return size > 1 && Arrays.binarySearch(values, 0, size, value) >= 0;
+    }
+
+    boolean add(int value) {
+        if (size == 0) {
+            single = value;
+            size = 1;
+            return true;
+        }
+        if (size == 1) {
+            if (single == value) {
+                return false;
+            }
+            values = single < value ? new int[]{single, value} : new int[]{value, single};
+            size = 2;
+            return true;
+        }
+        int index = Arrays.binarySearch(values, 0, size, value);
+        if (index >= 0) {
+            return false;
+        }
+        index = -index - 1;
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1));
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+        return true;
+    }
+
+    boolean remove(int value) {
+        if (size == 1) {
+            if (single != value) {
+                return false;
+            }
+            size = 0;
+            return true;
+        }
+        int index = size > 1 ? Arrays.binarySearch(values, 0, size, value) : -1;
+        if (index < 0) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    void removeAt(int index) {
+        if (size == 1) {
+            size = 0;
+            return;
+        }
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        if (size == 1) {
+            single = values[0];
+            values = null;
+        }
+    }
+
+    /**
+     * 元素在有序存储中的位置，不存在时返回负数（与 Arrays.binarySearch 相同）
+     */
+    int indexOf(int value) {
+        if (size == 0) {
+            return -1;
+        }
+        if (size == 1) {
+            return single == value ? 0 : (value < single ? -1 : -2);
+        }
+        return Arrays.binarySearch(values, 0, size, value);
+    }
+}
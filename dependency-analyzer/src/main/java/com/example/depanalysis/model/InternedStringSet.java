@@ -0,0 +1,96 @@
+package com.example.depanalysis.model;
+
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 以符号表ID存放字符串的集合，对外仍是 Set<String>
+ * 相同名称只在符号表中保存一份，集合本身只保存int（见 CompactIntSet），迭代顺序为ID顺序
+ *
+ * 不是线程安全的
+ */
+public class InternedStringSet extends AbstractSet<String> {
+
+    private final SymbolTable symbolTable;
+    private final CompactIntSet ids = new CompactIntSet();
+    private int modCount;
+
+    public InternedStringSet() {
+        this(SymbolTable.getDefault());
+    }
+
+    public InternedStringSet(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    @Override
+    public boolean add(String name) {
+        if (!ids.add(symbolTable.intern(name))) {
+            return false;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object name) {
+        int id = symbolTable.idOf(name);
+        return id >= 0 && ids.contains(id);
+    }
+
+    @Override
+    public boolean remove(Object name) {
+        int id = symbolTable.idOf(name);
+        if (id < 0 || !ids.remove(id)) {
+            return false;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return ids.size();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int next;
+            private int expectedModCount = modCount;
+            private boolean canRemove;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.size();
+            }
+
+            @Override
+            public String next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= ids.size()) {
+                    throw new NoSuchElementException();
+                }
+                canRemove = true;
+                return symbolTable.name(ids.get(next++));
+            }
+
+            @Override
+            public void remove() {
+                if (!canRemove) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                canRemove = false;
+                ids.removeAt(--next);
+                expectedModCount = ++modCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.depanalysis.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 以符号表ID为键的Map，对外仍是 Map<String, V>
+ * 键按ID有序存放在int数组中，值存放在对应位置的数组中；单个报告涉及的类通常只有几个到几十个，
+ * 二分查找比 HashMap 的哈希表和 Entry 对象节省内存，迭代顺序为ID顺序
+ *
+ * 不是线程安全的
+ */
+public class InternedSymbolMap<V> extends AbstractMap<String, V> {
+
+    private final SymbolTable symbolTable;
+    private final CompactIntSet keys = new CompactIntSet();
+    private Object[] values;
+    private int modCount;
+
+    public InternedSymbolMap() {
+        this(SymbolTable.getDefault());
+    }
+
+    public InternedSymbolMap(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    @Override
+    public V put(String key, V value) {
+        int id = symbolTable.intern(key);
+        int index = keys.indexOf(id);
+        if (index >= 0) {
+            V previous = valueAt(index);
+            values[index] = value;
+            return previous;
+        }
+        index = -index - 1;
+        int size = keys.size();
+        if (values == null) {
+            values = new Object[1];
+        } else if (size == values.length) {
+            values = Arrays.copyOf(values, size + (size >> 1) + 1);
+        }
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        keys.add(id);
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V previous = valueAt(index);
+        removeAt(index);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        while (keys.size() > 0) {
+            removeAt(keys.size() - 1);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, V>> entrySet() {
+        return new AbstractSet<Entry<String, V>>() {
+            @Override
+            public int size() {
+                return keys.size();
+            }
+
+            @Override
+            public Iterator<Entry<String, V>> iterator() {
+                return new EntryIterator();
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        int id = symbolTable.idOf(key);
+        return id >= 0 ? keys.indexOf(id) : -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    private void removeAt(int index) {
+        int size = keys.size();
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        values[size - 1] = null;
+        keys.removeAt(index);
+        modCount++;
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, V>> {
+        private int next;
+        private int expectedModCount = modCount;
+        private boolean canRemove;
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.size();
+        }
+
+        @Override
+        public Entry<String, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= keys.size()) {
+                throw new NoSuchElementException();
+            }
+            canRemove = true;
+            return new IndexedEntry(next++);
+        }
+
+        @Override
+        public void remove() {
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            canRemove = false;
+            removeAt(--next);
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * 迭代时的条目视图，与 HashMap 的条目一样绑定到键（而不是数组位置）：
+     * 其他键的插入、删除不影响它；映射被删除后保留最后的值，setValue 不再写回
+     */
+    private class IndexedEntry implements Map.Entry<String, V> {
+        private final int id;
+        private V value;
+
+        IndexedEntry(int index) {
+            this.id = keys.get(index);
+            this.value = valueAt(index);
+        }
+
+        @Override
+        public String getKey() {
+            return symbolTable.name(id);
+        }
+
+        @Override
+        public V getValue() {
+            int index = keys.indexOf(id);
+            if (index >= 0) {
+                value = valueAt(index);
+            }
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V previous = getValue();
+            int index = keys.indexOf(id);
+            if (index >= 0) {
+                values[index] = value;
+            }
+            this.value = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> other = (Map.Entry<?, ?>) o;
+            V current = getValue();
+            return getKey().equals(other.getKey())
+                    && (current == null ? other.getValue() == null : current.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            V current = getValue();
+            return getKey().hashCode() ^ (current == null ? 0 : current.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
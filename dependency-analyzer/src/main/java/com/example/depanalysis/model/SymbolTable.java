@@ -0,0 +1,68 @@
+package com.example.depanalysis.model;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 符号表：把类名、字段名、方法名等字符串映射为从0开始的整数ID，同一名称只保留一个字符串实例
+ * 可被多个线程同时使用，查找不加锁，只有新增名称时加锁
+ *
+ * 名称一旦加入不会移除，符号表的大小取决于被分析代码中不同名称的数量
+ */
+public final class SymbolTable {
+
+    private static final SymbolTable DEFAULT = new SymbolTable();
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[1024];
+    private int size;
+
+    /**
+     * ClassSymbols、AnalysisReport 默认使用的全局符号表
+     */
+    public static SymbolTable getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * 获取名称的ID，不存在时加入
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = ids.get(name);
+            if (id != null) {
+                return id;
+            }
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+            }
+            names[size] = name;
+            ids.put(name, size);
+            return size++;
+        }
+    }
+
+    /**
+     * 获取名称的ID，不存在时返回 -1，不会加入
+     */
+    public int idOf(Object name) {
+        Integer id = name instanceof String ? ids.get(name) : null;
+        return id != null ? id : -1;
+    }
+
+    /**
+     * 获取ID对应的名称
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
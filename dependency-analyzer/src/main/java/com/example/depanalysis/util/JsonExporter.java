@@ -54,6 +54,7 @@ public class JsonExporter {
                 json.append("    \"").append(escape(className)).append("\": {\n");
                 json.append("      \"fields\": ").append(symbols.getFields().size()).append(",\n");
                 json.append("      \"enums\": ").append(symbols.getEnumConstants().size()).append(",\n");
+                json.append("      \"methods\": ").append(symbols.getMethods().size()).append(",\n");
                 json.append("      \"annotations\": ").append(symbols.getAnnotations().size()).append(",\n");
                 json.append("      \"isType\": ").append(symbols.isReferencedAsType()).append("\n");
                 json.append("    }");
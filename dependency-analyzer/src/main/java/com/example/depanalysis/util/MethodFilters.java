@@ -0,0 +1,66 @@
+package com.example.depanalysis.util;
+
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * 常用的方法过滤条件，用于一次分析多个方法
+ */
+public class MethodFilters {
+
+    /**
+     * Spring MVC 请求映射注解
+     */
+    private static final Set<String> REQUEST_MAPPING_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "RequestMapping", "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping"));
+
+    /**
+     * 方法名在给定集合中
+     */
+    public static Predicate<MethodDeclaration> named(Collection<String> methodNames) {
+        Set<String> names = new HashSet<>(methodNames);
+        return md -> names.contains(md.getNameAsString());
+    }
+
+    /**
+     * 所有 public 方法
+     */
+    public static Predicate<MethodDeclaration> publicMethods() {
+        return MethodDeclaration::isPublic;
+    }
+
+    /**
+     * 带有任一给定注解的方法，注解名可以是简单名或限定名，按简单名匹配
+     */
+    public static Predicate<MethodDeclaration> annotatedWith(String... annotationNames) {
+        Set<String> names = new HashSet<>();
+        for (String annotationName : annotationNames) {
+            names.add(simpleName(annotationName));
+        }
+        return md -> {
+            for (AnnotationExpr annotation : md.getAnnotations()) {
+                if (names.contains(simpleName(annotation.getNameAsString()))) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Spring MVC 请求处理方法（@RequestMapping、@GetMapping 等）
+     */
+    public static Predicate<MethodDeclaration> requestMappingHandlers() {
+        return annotatedWith(REQUEST_MAPPING_ANNOTATIONS.toArray(new String[0]));
+    }
+
+    private static String simpleName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+}
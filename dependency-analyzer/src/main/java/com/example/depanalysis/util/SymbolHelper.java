@@ -1,19 +1,47 @@
 package com.example.depanalysis.util;
 
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.expr.*;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.resolution.declarations.ResolvedFieldDeclaration;
+import com.github.javaparser.resolution.declarations.ResolvedMethodDeclaration;
 import com.github.javaparser.resolution.declarations.ResolvedValueDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
 import com.github.javaparser.resolution.types.ResolvedType;
 import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Optional;
+
 /**
  * 符号解析辅助工具类
  */
 @Slf4j
 public class SymbolHelper {
     
+    /**
+     * 方法键：所在类的限定名#方法名
+     */
+    public static String methodKey(String typeQualifiedName, String methodName) {
+        return typeQualifiedName + "#" + methodName;
+    }
+    
+    /**
+     * 方法所在类的限定名，无法确定时返回空字符串
+     */
+    public static String declaringTypeName(MethodDeclaration md) {
+        Optional<Node> parent = md.getParentNode();
+        while (parent.isPresent()) {
+            if (parent.get() instanceof TypeDeclaration) {
+                return ((TypeDeclaration<?>) parent.get()).getFullyQualifiedName().orElse("");
+            }
+            parent = parent.get().getParentNode();
+        }
+        return "";
+    }
+    
     /**
      * 解析注解类型
      */
@@ -85,6 +113,23 @@ public class SymbolHelper {
         return null;
     }
     
+    /**
+     * 解析方法调用
+     * @return [ownerQualifiedName, methodName]
+     */
+    public static String[] resolveMethodCall(MethodCallExpr expr, JavaParserFacade facade) {
+        try {
+            SymbolReference<ResolvedMethodDeclaration> ref = facade.solve(expr);
+            if (ref.isSolved()) {
+                ResolvedMethodDeclaration method = ref.getCorrespondingDeclaration();
+                return new String[]{method.declaringType().getQualifiedName(), method.getName()};
+            }
+        } catch (Exception e) {
+            log.debug("无法解析方法调用: {}", expr, e);
+        }
+        return null;
+    }
+    
     /**
      * 解析名称表达式
      * @return [ownerQualifiedName, symbolName, symbolType]
@@ -0,0 +1,183 @@
+package com.example.depanalysis;
+
+import com.example.depanalysis.api.ProjectAnalysisReport;
+import com.example.depanalysis.config.AnalysisConfig;
+import com.example.depanalysis.impl.ProjectDependencyExtractor;
+import com.example.depanalysis.util.MethodFilters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 项目批量依赖提取的吞吐量（文件/秒）随并行度的变化
+ * 在生成的 3000 个类（模型、服务、控制器）上运行，每次调用都是冷启动（新的分析会话）；
+ * 方法/秒 = 文件/秒 × 每个文件的方法数（METHODS_PER_CLASS），批量分析的日志中也会输出
+ *
+ * 参数 parallelism 对应 AnalysisConfig.parallelism，超过本机核数的取值不会再提升吞吐量，只用于观察调度开销；
+ * 语料在 setUp 中生成到临时目录、在 tearDown 中删除，每次调用都是冷的分析会话，结果包含类型解析器的预热。
+ * 3000 个类的会话需要较大的堆，测量在 -Xmx4g 的独立进程中进行
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ProjectExtractionBenchmark {
+
+    private static final int PACKAGES = 50;
+    private static final int MODELS_PER_PACKAGE = 20;
+    private static final int SERVICES_PER_PACKAGE = 30;
+    private static final int CONTROLLERS_PER_PACKAGE = 10;
+    private static final int CLASSES = PACKAGES * (MODELS_PER_PACKAGE + SERVICES_PER_PACKAGE + CONTROLLERS_PER_PACKAGE);
+    private static final int METHODS_PER_CLASS = 4;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private Path sourceRoot;
+    private AnalysisConfig config;
+
+    @Setup
+    public void setUp() throws IOException {
+        sourceRoot = Files.createTempDirectory("extraction-corpus");
+        generateCorpus(sourceRoot);
+        config = new AnalysisConfig();
+        config.getSourceRoots().add(sourceRoot);
+        config.setParallelism(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(sourceRoot)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLASSES)
+    public ProjectAnalysisReport extract() throws IOException {
+        ProjectAnalysisReport report = new ProjectDependencyExtractor(config, MethodFilters.publicMethods()).extract();
+        if (report.getFileCount() != CLASSES || report.getMethods().size() != CLASSES * METHODS_PER_CLASS) {
+            throw new IllegalStateException("分析结果不完整: " + report.getFileCount() + " 个文件, "
+                    + report.getMethods().size() + " 个方法");
+        }
+        return report;
+    }
+
+    /**
+     * 生成语料：每个包有模型（字段、枚举）、服务（引用模型和其他服务）、控制器（引用服务和模型）
+     */
+    static void generateCorpus(Path root) throws IOException {
+        for (int p = 0; p < PACKAGES; p++) {
+            String pkg = "com.example.gen.p" + p;
+            String otherPkg = "com.example.gen.p" + ((p + 1) % PACKAGES);
+            Path dir = root.resolve(pkg.replace('.', '/'));
+            Files.createDirectories(dir);
+            for (int i = 0; i < MODELS_PER_PACKAGE; i++) {
+                write(dir.resolve("Model" + i + ".java"), model(pkg, i));
+            }
+            for (int i = 0; i < SERVICES_PER_PACKAGE; i++) {
+                write(dir.resolve("Service" + i + ".java"), service(pkg, otherPkg, i));
+            }
+            for (int i = 0; i < CONTROLLERS_PER_PACKAGE; i++) {
+                write(dir.resolve("Controller" + i + ".java"), controller(pkg, i));
+            }
+        }
+    }
+
+    private static String model(String pkg, int i) {
+        return "package " + pkg + ";\n\n"
+                + "public class Model" + i + " {\n"
+                + "    public static final String TYPE = \"m" + i + "\";\n"
+                + "    public enum Status { NEW, DONE }\n"
+                + "    private String name;\n"
+                + "    private Status status = Status.NEW;\n\n"
+                + "    public String getName() { return name; }\n"
+                + "    public void setName(String name) { this.name = name; }\n"
+                + "    public Status getStatus() { return status; }\n"
+                + "    public boolean isDone() { return status == Status.DONE; }\n"
+                + "}\n";
+    }
+
+    private static String service(String pkg, String otherPkg, int i) {
+        int model = i % MODELS_PER_PACKAGE;
+        int next = (i + 1) % SERVICES_PER_PACKAGE;
+        return "package " + pkg + ";\n\n"
+                + "import java.util.ArrayList;\n"
+                + "import java.util.List;\n\n"
+                + "public class Service" + i + " {\n"
+                + "    private final " + otherPkg + ".Model" + model + " shared = new " + otherPkg + ".Model" + model + "();\n\n"
+                + "    public Model" + model + " load(String name) {\n"
+                + "        Model" + model + " m = new Model" + model + "();\n"
+                + "        m.setName(name + Model" + model + ".TYPE);\n"
+                + "        return m;\n"
+                + "    }\n\n"
+                + "    public List<Model" + model + "> list(int size) {\n"
+                + "        List<Model" + model + "> result = new ArrayList<>();\n"
+                + "        for (int k = 0; k < size; k++) {\n"
+                + "            result.add(load(String.valueOf(k)));\n"
+                + "        }\n"
+                + "        return result;\n"
+                + "    }\n\n"
+                + "    public boolean check(Model" + model + " m) {\n"
+                + "        return m.getStatus() == Model" + model + ".Status.DONE || shared.isDone();\n"
+                + "    }\n\n"
+                + "    public Service" + next + " next() {\n"
+                + "        return new Service" + next + "();\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private static String controller(String pkg, int i) {
+        int service = (i * 3) % SERVICES_PER_PACKAGE;
+        int model = service % MODELS_PER_PACKAGE;
+        return "package " + pkg + ";\n\n"
+                + "public class Controller" + i + " {\n"
+                + "    private final Service" + service + " service = new Service" + service + "();\n\n"
+                + "    public String get(String name) {\n"
+                + "        return service.load(name).getName();\n"
+                + "    }\n\n"
+                + "    public int count(int size) {\n"
+                + "        return service.list(size).size();\n"
+                + "    }\n\n"
+                + "    public boolean done(String name) {\n"
+                + "        return service.check(service.load(name)) && Model" + model + ".TYPE != null;\n"
+                + "    }\n\n"
+                + "    public Object chain() {\n"
+                + "        return service.next().next().list(1);\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProjectExtractionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.depanalysis;
+
+import com.example.depanalysis.api.AnalysisReport;
+import com.example.depanalysis.model.ClassSymbols;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 分析报告两种存储方式的内存对比：HashMap/HashSet 与符号表ID（InternedSymbolMap/InternedStringSet）
+ * 模拟批量分析 12000 个方法的结果，每次引用都像 ResolvedType.describe() 一样重新拼接出新的名称字符串
+ *
+ * - main 方法先输出构建完成后的常驻堆内存（Full GC 后的已用堆差值，符号表计入 interned）
+ * - JMH 部分配合 GC profiler 输出每次构建的分配量（gc.alloc.rate.norm）和耗时
+ *
+ * 常驻堆内存在运行 main 的进程中测量，该进程需要足够的堆（如 -Xmx2g）且不应同时运行其他任务，否则 GC 后的差值不准确；
+ * JMH 部分比较参数 representation（hashSet/interned），应关注 gc.alloc.rate.norm（每次构建分配的字节数），
+ * 耗时只用于确认符号表没有明显拖慢构建
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SymbolMemoryBenchmark {
+
+    private static final int REPORTS = 12000;
+    private static final int PACKAGES = 50;
+    private static final int CLASSES_PER_PACKAGE = 60;
+    private static final String[] FIELDS = {"TYPE", "name", "status", "shared", "service"};
+    private static final String[] ENUM_CONSTANTS = {"NEW", "DONE"};
+    private static final String[] METHODS = {"getName", "setName", "getStatus", "isDone", "load", "list", "check", "next"};
+
+    @Param({"hashSet", "interned"})
+    private String representation;
+
+    @Benchmark
+    public List<Object> build() {
+        return build(representation);
+    }
+
+    /**
+     * 按固定种子生成引用序列并构建全部报告，两种存储方式的内容完全相同
+     */
+    static List<Object> build(String representation) {
+        Random random = new Random(42);
+        List<Object> reports = new ArrayList<>(REPORTS);
+        for (int r = 0; r < REPORTS; r++) {
+            boolean interned = "interned".equals(representation);
+            Map<String, ?> classes = interned ? new AnalysisReport().getClasses() : new HashMap<String, LegacyClassSymbols>();
+            int references = 4 + random.nextInt(5);
+            for (int i = 0; i < references; i++) {
+                // 与 describe() 相同，每次引用都产生新的字符串实例
+                String className = "com.example.gen.p" + random.nextInt(PACKAGES) + ".Type" + random.nextInt(CLASSES_PER_PACKAGE);
+                Set<String> fields;
+                Set<String> enumConstants;
+                Set<String> methods;
+                if (interned) {
+                    @SuppressWarnings("unchecked")
+                    ClassSymbols symbols = ((Map<String, ClassSymbols>) classes).computeIfAbsent(className, ClassSymbols::new);
+                    symbols.setReferencedAsType(true);
+                    fields = symbols.getFields();
+                    enumConstants = symbols.getEnumConstants();
+                    methods = symbols.getMethods();
+                } else {
+                    @SuppressWarnings("unchecked")
+                    LegacyClassSymbols symbols = ((Map<String, LegacyClassSymbols>) classes).computeIfAbsent(className, LegacyClassSymbols::new);
+                    symbols.referencedAsType = true;
+                    fields = symbols.fields;
+                    enumConstants = symbols.enumConstants;
+                    methods = symbols.methods;
+                }
+                for (int k = random.nextInt(3); k > 0; k--) {
+                    fields.add(new String(FIELDS[random.nextInt(FIELDS.length)]));
+                }
+                if (random.nextInt(4) == 0) {
+                    enumConstants.add(new String(ENUM_CONSTANTS[random.nextInt(ENUM_CONSTANTS.length)]));
+                }
+                for (int k = random.nextInt(4); k > 0; k--) {
+                    methods.add(new String(METHODS[random.nextInt(METHODS.length)]));
+                }
+            }
+            reports.add(classes);
+        }
+        return reports;
+    }
+
+    /**
+     * 构建全部报告并保持引用，返回 Full GC 后增加的已用堆内存
+     */
+    static long retainedBytes(String representation) {
+        long before = usedHeapAfterGc();
+        List<Object> reports = build(representation);
+        long after = usedHeapAfterGc();
+        if (reports.size() != REPORTS) {
+            throw new IllegalStateException("报告数量不正确: " + reports.size());
+        }
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * 改造前的 ClassSymbols：限定名字符串加四个 HashSet
+     */
+    static class LegacyClassSymbols {
+        final String classQualifiedName;
+        final Set<String> fields = new HashSet<>();
+        final Set<String> enumConstants = new HashSet<>();
+        final Set<String> methods = new HashSet<>();
+        final Set<String> annotations = new HashSet<>();
+        boolean referencedAsType;
+
+        LegacyClassSymbols(String classQualifiedName) {
+            this.classQualifiedName = classQualifiedName;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (String representation : new String[]{"hashSet", "interned"}) {
+            System.out.printf("%-8s 常驻堆内存: %.1f MB（%d 个报告）%n",
+                    representation, retainedBytes(representation) / 1024.0 / 1024.0, REPORTS);
+        }
+        new Runner(new OptionsBuilder()
+                .include(SymbolMemoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
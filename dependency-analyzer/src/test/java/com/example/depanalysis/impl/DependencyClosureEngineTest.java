@@ -0,0 +1,169 @@
+package com.example.depanalysis.impl;
+
+import com.example.depanalysis.api.ClosureReport;
+import com.example.depanalysis.config.AnalysisConfig;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * DependencyClosureEngine：在临时目录中的小型项目上验证闭包范围、深度和节点数上限、外部类型以及直接依赖的缓存
+ */
+public class DependencyClosureEngineTest {
+
+    private static final String PACKAGE = "com.example.app.";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File controller;
+    private DependencyClosureEngine engine;
+
+    @Before
+    public void setUp() throws IOException {
+        File root = temporaryFolder.newFolder("src");
+        controller = write(root, "Controller", "import org.junit.Assert;\n"
+                + "\n"
+                + "public class Controller {\n"
+                + "    public void handle(Service service) {\n"
+                + "        service.process();\n"
+                + "        Assert.assertNotNull(service);\n"
+                + "    }\n"
+                + "}\n");
+        write(root, "BaseService", "public class BaseService {\n"
+                + "    protected Helper helper;\n"
+                + "}\n");
+        write(root, "Service", "public class Service extends BaseService {\n"
+                + "    public void process() {\n"
+                + "        Repository repository = new Repository();\n"
+                + "        repository.save();\n"
+                + "    }\n"
+                + "\n"
+                + "    public void unused() {\n"
+                + "        new Unused();\n"
+                + "    }\n"
+                + "}\n");
+        write(root, "Repository", "public class Repository {\n"
+                + "    public void save() {\n"
+                + "        Deep.run();\n"
+                + "    }\n"
+                + "}\n");
+        write(root, "Deep", "public class Deep {\n"
+                + "    public static void run() {\n"
+                + "    }\n"
+                + "}\n");
+        write(root, "Helper", "public class Helper {\n}\n");
+        write(root, "Unused", "public class Unused {\n}\n");
+
+        // classpath上的类型（如 org.junit.Assert）可以解析但没有源码，作为外部类型
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver();
+        typeSolver.add(new JavaParserTypeSolver(root));
+        typeSolver.add(new ReflectionTypeSolver(false));
+        engine = new DependencyClosureEngine(JavaParserFacade.get(typeSolver));
+    }
+
+    @Test
+    public void testClosure() throws IOException {
+        ClosureReport report = engine.closure(roots("handle"), new AnalysisConfig());
+
+        assertEquals(Arrays.asList(PACKAGE + "Controller#handle", PACKAGE + "Service#process",
+                PACKAGE + "Repository#save", PACKAGE + "Deep#run"), Arrays.asList(report.getMethods().keySet().toArray()));
+        Map<String, Integer> types = new LinkedHashMap<>();
+        types.put(PACKAGE + "Controller", 0);
+        types.put(PACKAGE + "Service", 1);
+        types.put(PACKAGE + "BaseService", 2);
+        types.put(PACKAGE + "Repository", 2);
+        types.put(PACKAGE + "Helper", 3);
+        types.put(PACKAGE + "Deep", 3);
+        assertEquals(types, report.getTypes());
+        assertEquals(Collections.singleton("org.junit.Assert"), report.getExternalTypes());
+        assertFalse("未被调用的方法不展开", report.getSymbols().getClasses().containsKey(PACKAGE + "Unused"));
+        assertTrue(report.getSymbols().getClasses().get(PACKAGE + "Deep").getMethods().contains("run"));
+        assertEquals(3, report.getMaxDepthReached());
+        assertFalse(report.isTruncated());
+    }
+
+    @Test
+    public void testDepthLimit() throws IOException {
+        AnalysisConfig cfg = new AnalysisConfig();
+        cfg.setClosureMaxDepth(1);
+        ClosureReport report = engine.closure(roots("handle"), cfg);
+
+        assertEquals(Arrays.asList(PACKAGE + "Controller#handle", PACKAGE + "Service#process"),
+                Arrays.asList(report.getMethods().keySet().toArray()));
+        assertEquals(Arrays.asList(PACKAGE + "Controller", PACKAGE + "Service"),
+                Arrays.asList(report.getTypes().keySet().toArray()));
+        assertEquals(1, report.getMaxDepthReached());
+        assertTrue(report.isTruncated());
+        assertTrue(report.getTruncationReason(), report.getTruncationReason().contains("深度"));
+    }
+
+    @Test
+    public void testNodeLimit() throws IOException {
+        AnalysisConfig cfg = new AnalysisConfig();
+        cfg.setClosureMaxNodes(2);
+        ClosureReport report = engine.closure(roots("handle"), cfg);
+
+        assertEquals(1, report.getMethods().size());
+        assertEquals(1, report.getTypes().size());
+        assertTrue(report.isTruncated());
+        assertTrue(report.getTruncationReason(), report.getTruncationReason().contains("节点数"));
+    }
+
+    @Test
+    public void testDirectDependenciesAreReused() throws IOException {
+        ClosureReport first = engine.closure(roots("handle"), new AnalysisConfig());
+        ClosureReport second = engine.closure(roots("handle"), new AnalysisConfig());
+
+        assertEquals(first.getMethods().keySet(), second.getMethods().keySet());
+        for (String method : first.getMethods().keySet()) {
+            assertSame(method, first.getMethods().get(method), second.getMethods().get(method));
+        }
+        assertEquals(first.getTypes(), second.getTypes());
+    }
+
+    @Test
+    public void testCacheIsSeparatedByIgnoreUnresolved() throws IOException {
+        AnalysisConfig strict = new AnalysisConfig();
+        strict.setIgnoreUnresolved(false);
+        String key = PACKAGE + "Service#process";
+
+        ClosureReport lenient = engine.closure(roots("handle"), new AnalysisConfig());
+        ClosureReport first = engine.closure(roots("handle"), strict);
+        ClosureReport second = engine.closure(roots("handle"), strict);
+        assertNotSame("不忽略无法解析的符号时不应使用忽略时收集的结果", lenient.getMethods().get(key), first.getMethods().get(key));
+        assertSame(first.getMethods().get(key), second.getMethods().get(key));
+        assertEquals(lenient.getMethods().keySet(), first.getMethods().keySet());
+    }
+
+    private List<MethodDeclaration> roots(String methodName) throws IOException {
+        return new JavaParser().parse(controller).getResult().get()
+                .findAll(MethodDeclaration.class, md -> methodName.equals(md.getNameAsString()));
+    }
+
+    private static File write(File root, String className, String body) throws IOException {
+        File file = new File(root, "com/example/app/" + className + ".java");
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), ("package com.example.app;\n\n" + body).getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.depanalysis.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ClassSymbols 改为符号表存储后，对外的 equals/toString/merge 保持不变
+ */
+public class ClassSymbolsTest {
+
+    @Test
+    public void testEqualsAndToStringUseQualifiedName() {
+        ClassSymbols first = new ClassSymbols(new String("com.example.Order"));
+        ClassSymbols second = new ClassSymbols(new String("com.example.Order"));
+        first.getFields().add("status");
+        second.getFields().add("status");
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertSame(first.getClassQualifiedName(), second.getClassQualifiedName());
+        assertTrue(first.toString(), first.toString().startsWith("ClassSymbols(classQualifiedName=com.example.Order, fields=[status]"));
+
+        second.setReferencedAsType(true);
+        assertNotEquals(first, second);
+        assertNotEquals(first, new ClassSymbols("com.example.Other"));
+    }
+
+    @Test
+    public void testMerge() {
+        ClassSymbols target = new ClassSymbols("com.example.Order");
+        target.getFields().add("status");
+        ClassSymbols other = new ClassSymbols("com.example.Order");
+        other.getFields().add("id");
+        other.getEnumConstants().add("NEW");
+        other.getMethods().add("getId");
+        other.getAnnotations().add("Deprecated");
+        other.setReferencedAsType(true);
+
+        target.merge(other);
+        assertEquals(2, target.getFields().size());
+        assertTrue(target.getFields().contains("id"));
+        assertTrue(target.getEnumConstants().contains("NEW"));
+        assertTrue(target.getMethods().contains("getId"));
+        assertTrue(target.getAnnotations().contains("Deprecated"));
+        assertTrue(target.isReferencedAsType());
+    }
+}
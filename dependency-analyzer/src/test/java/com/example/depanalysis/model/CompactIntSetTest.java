@@ -0,0 +1,102 @@
+package com.example.depanalysis.model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * CompactIntSet 与 TreeSet 对照：空集合、单元素、有序数组三种形态之间的转换
+ */
+public class CompactIntSetTest {
+
+    @Test
+    public void testEmptyAndSingleton() {
+        CompactIntSet set = new CompactIntSet();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+        assertFalse(set.remove(0));
+        assertEquals(-1, set.indexOf(5));
+
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertEquals(1, set.size());
+        assertEquals(5, set.get(0));
+        assertTrue(set.contains(5));
+        assertFalse(set.contains(4));
+        assertEquals(0, set.indexOf(5));
+        assertEquals(-1, set.indexOf(4));
+        assertEquals(-2, set.indexOf(6));
+
+        assertFalse(set.remove(4));
+        assertTrue(set.remove(5));
+        assertEquals(0, set.size());
+        assertFalse(set.contains(5));
+    }
+
+    @Test
+    public void testGrowsSortedAndShrinksBackToSingleton() {
+        CompactIntSet set = new CompactIntSet();
+        for (int value : new int[]{9, 3, 7, 1, 5}) {
+            assertTrue(set.add(value));
+        }
+        assertEquals(5, set.size());
+        assertEquals(list(1, 3, 5, 7, 9), contents(set));
+        assertEquals(-3, set.indexOf(4));    // 插入位置 2
+
+        set.removeAt(0);
+        set.removeAt(set.size() - 1);
+        assertEquals(list(3, 5, 7), contents(set));
+        assertTrue(set.remove(5));
+        assertTrue(set.remove(3));
+        assertEquals(1, set.size());
+        assertEquals(7, set.get(0));
+        assertTrue(set.contains(7));
+        assertTrue(set.add(2));
+        assertEquals(list(2, 7), contents(set));
+    }
+
+    @Test
+    public void testRandomOperationsMatchTreeSet() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            CompactIntSet set = new CompactIntSet();
+            TreeSet<Integer> expected = new TreeSet<>();
+            int range = 1 + random.nextInt(40);
+            for (int i = 0; i < 100; i++) {
+                int value = random.nextInt(range);
+                switch (random.nextInt(3)) {
+                    case 0:
+                    case 1:
+                        assertEquals(expected.add(value), set.add(value));
+                        break;
+                    default:
+                        assertEquals(expected.remove(value), set.remove(value));
+                        break;
+                }
+                assertEquals(expected.size(), set.size());
+                assertEquals(expected.contains(value), set.contains(value));
+            }
+            assertEquals(new ArrayList<>(expected), contents(set));
+        }
+    }
+
+    private static List<Integer> contents(CompactIntSet set) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < set.size(); i++) {
+            values.add(set.get(i));
+        }
+        return values;
+    }
+
+    private static List<Integer> list(Integer... values) {
+        List<Integer> list = new ArrayList<>();
+        Collections.addAll(list, values);
+        return list;
+    }
+}
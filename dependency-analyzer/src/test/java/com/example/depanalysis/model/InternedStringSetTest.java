@@ -0,0 +1,122 @@
+package com.example.depanalysis.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * InternedStringSet 与 HashSet 对照
+ */
+public class InternedStringSetTest {
+
+    private final SymbolTable symbolTable = new SymbolTable();
+
+    @Test
+    public void testSetSemantics() {
+        Set<String> set = new InternedStringSet(symbolTable);
+        assertTrue(set.isEmpty());
+        assertTrue(set.add("name"));
+        assertFalse(set.add(new String("name")));
+        assertTrue(set.add("status"));
+        assertTrue(set.contains("status"));
+        assertFalse(set.contains("unknown"));
+        assertFalse(set.contains(42));
+        assertFalse(set.remove("unknown"));
+        assertFalse(set.remove(null));
+        assertEquals(2, set.size());
+
+        Set<String> expected = new HashSet<>(Arrays.asList("status", "name"));
+        assertEquals(expected, set);
+        assertEquals(set, expected);
+        assertEquals(expected.hashCode(), set.hashCode());
+
+        // 查询不会把名称加入符号表
+        int symbols = symbolTable.size();
+        set.contains("neverAdded");
+        set.remove("neverAdded");
+        assertEquals(symbols, symbolTable.size());
+    }
+
+    @Test
+    public void testSameNameIsStoredOnce() {
+        Set<String> first = new InternedStringSet(symbolTable);
+        Set<String> second = new InternedStringSet(symbolTable);
+        first.add(new String("com.example.Order"));
+        second.add(new String("com.example.Order"));
+        assertSame(first.iterator().next(), second.iterator().next());
+        assertEquals(1, symbolTable.size());
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Set<String> set = new InternedStringSet(symbolTable);
+        set.addAll(Arrays.asList("a", "b", "c", "d"));
+        Iterator<String> iterator = set.iterator();
+        try {
+            iterator.remove();
+            fail("next() 之前不能 remove()");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        while (iterator.hasNext()) {
+            String value = iterator.next();
+            if (value.equals("b") || value.equals("c")) {
+                iterator.remove();
+                try {
+                    iterator.remove();
+                    fail("同一元素不能 remove() 两次");
+                } catch (IllegalStateException expected) {
+                    // expected
+                }
+            }
+        }
+        assertEquals(new HashSet<>(Arrays.asList("a", "d")), set);
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testModificationDuringIterationFails() {
+        Set<String> set = new InternedStringSet(symbolTable);
+        set.addAll(Arrays.asList("a", "b"));
+        for (String value : set) {
+            set.add(value + "x");
+        }
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashSet() {
+        Random random = new Random(11);
+        for (int round = 0; round < 100; round++) {
+            Set<String> set = new InternedStringSet(symbolTable);
+            Set<String> expected = new HashSet<>();
+            for (int i = 0; i < 80; i++) {
+                String value = "s" + random.nextInt(30);
+                int operation = random.nextInt(4);
+                if (operation < 2) {
+                    assertEquals(expected.add(value), set.add(value));
+                } else if (operation == 2) {
+                    assertEquals(expected.remove(value), set.remove(value));
+                } else {
+                    Iterator<String> iterator = set.iterator();
+                    while (iterator.hasNext()) {
+                        String next = iterator.next();
+                        if (next.hashCode() % 3 == 0) {
+                            iterator.remove();
+                            expected.remove(next);
+                        }
+                    }
+                }
+                assertEquals(expected, set);
+                assertEquals(expected.size(), set.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.depanalysis.model;
+
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * InternedSymbolMap 与 HashMap 对照，包括条目在其他键插入、删除后的行为
+ */
+public class InternedSymbolMapTest {
+
+    private final SymbolTable symbolTable = new SymbolTable();
+
+    @Test
+    public void testMapSemantics() {
+        Map<String, Integer> map = new InternedSymbolMap<>(symbolTable);
+        assertNull(map.put("b", 2));
+        assertNull(map.put("a", 1));
+        assertEquals(Integer.valueOf(2), map.put("b", 20));
+        assertEquals(Integer.valueOf(20), map.get(new String("b")));
+        assertNull(map.get("missing"));
+        assertNull(map.get(42));
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey("missing"));
+        assertEquals(Integer.valueOf(3), map.computeIfAbsent("c", key -> 3));
+        assertEquals(Integer.valueOf(3), map.computeIfAbsent("c", key -> 30));
+        assertNull(map.put("nullValue", null));
+        assertTrue(map.containsKey("nullValue"));
+
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", 20);
+        expected.put("c", 3);
+        expected.put("nullValue", null);
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        assertEquals(Integer.valueOf(1), map.remove("a"));
+        assertNull(map.remove("a"));
+        assertNull(map.remove("missing"));
+        assertEquals(3, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testEntryStaysBoundToItsKey() {
+        Map<String, String> map = new InternedSymbolMap<>(symbolTable);
+        symbolTable.intern("low");    // 先登记，使 "low" 的ID小于 "high"
+        map.put("high", "H");
+        Map.Entry<String, String> entry = map.entrySet().iterator().next();
+
+        // 插入ID更小的键后，high 在数组中的位置后移，条目仍指向 high
+        map.put("low", "L");
+        assertEquals("high", entry.getKey());
+        assertEquals("H", entry.getValue());
+        assertEquals("H", entry.setValue("H2"));
+        assertEquals("H2", map.get("high"));
+        assertEquals("L", map.get("low"));
+
+        // 与 HashMap 相同：映射删除后条目保留最后的值，setValue 不再影响Map
+        map.remove("high");
+        assertEquals("high", entry.getKey());
+        assertEquals("H2", entry.getValue());
+        entry.setValue("detached");
+        assertFalse(map.containsKey("high"));
+        assertEquals("L", map.get("low"));
+    }
+
+    @Test
+    public void testEntryIteratorRemoveAndSetValue() {
+        Map<String, Integer> map = new InternedSymbolMap<>(symbolTable);
+        for (int i = 0; i < 10; i++) {
+            map.put("k" + i, i);
+        }
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Integer> entry = iterator.next();
+            if (entry.getValue() % 2 == 0) {
+                iterator.remove();
+                try {
+                    iterator.remove();
+                    fail("同一条目不能 remove() 两次");
+                } catch (IllegalStateException expected) {
+                    // expected
+                }
+            } else {
+                entry.setValue(entry.getValue() * 10);
+            }
+        }
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 1; i < 10; i += 2) {
+            expected.put("k" + i, i * 10);
+        }
+        assertEquals(expected, map);
+        map.keySet().remove("k1");
+        map.values().remove(30);
+        expected.remove("k1");
+        expected.remove("k3");
+        assertEquals(expected, map);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testModificationDuringIterationFails() {
+        Map<String, Integer> map = new InternedSymbolMap<>(symbolTable);
+        map.put("a", 1);
+        map.put("b", 2);
+        for (String key : map.keySet()) {
+            map.remove("a");
+            map.put("c" + key, 3);
+        }
+    }
+
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        Random random = new Random(13);
+        for (int round = 0; round < 100; round++) {
+            Map<String, Integer> map = new InternedSymbolMap<>(symbolTable);
+            Map<String, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 80; i++) {
+                String key = "key" + random.nextInt(25);
+                int value = random.nextInt(100);
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        assertEquals(expected.put(key, value), map.put(key, value));
+                        break;
+                    case 2:
+                        assertEquals(expected.remove(key), map.remove(key));
+                        break;
+                    default:
+                        assertEquals(expected.get(key), map.get(key));
+                        assertEquals(expected.containsKey(key), map.containsKey(key));
+                        break;
+                }
+                assertEquals(expected, map);
+                assertEquals(expected.size(), map.size());
+            }
+        }
+    }
+}
@@ -39,7 +39,8 @@ public class CleanerConfig {
     private boolean keepResourcesFolder = true;
     
     /**
-     * 需要保留的文件扩展名
+     * 需要保留的文件扩展名，按文件名后缀匹配且不区分大小写；
+     * 不要求以点号开头，如 "Dockerfile" 匹配 Dockerfile 和 app.Dockerfile，"-api.xml" 匹配 order-api.xml
      */
     private String[] keepExtensions = {".java", ".xml"};
     
@@ -47,4 +48,65 @@ public class CleanerConfig {
      * 需要删除的文件夹名称
      */
     private String[] deleteFolders = {".git"};
+    
+    /**
+     * 强制保留的文件匹配规则，匹配相对源项目根目录的路径；
+     * 支持 "glob:" 和 "regex:" 前缀，未指定前缀时按 glob 处理
+     */
+    private String[] includePatterns = {};
+    
+    /**
+     * 强制剔除的文件匹配规则，格式同 includePatterns，优先级最高
+     */
+    private String[] excludePatterns = {};
+    
+    /**
+     * 复制工作线程数，小于等于1时在遍历线程上串行复制
+     */
+    private int copyThreads = Runtime.getRuntime().availableProcessors();
+    
+    /**
+     * 等待复制的任务队列上限，队列满时遍历线程阻塞等待
+     */
+    private int copyQueueCapacity = 1024;
+    
+    /**
+     * 输出集合中文件的生成方式，链接失败时对该文件回退为复制
+     */
+    private MaterializeMode materializeMode = MaterializeMode.COPY;
+    
+    /**
+     * 是否增量运行：保留上次的输出，只处理新增、变化和已删除的源文件
+     */
+    private boolean incremental = false;
+    
+    /**
+     * 增量运行使用的清单文件名，位于输出目录下
+     */
+    private String manifestFileName = ".cleaner-manifest";
+    
+    /**
+     * 删除文件目录树报告文件名，位于输出目录下
+     */
+    private String reportFileName = "deleted-files-tree.txt";
+    
+    /**
+     * 是否试运行：只遍历和判定，不复制文件，输出各目录统计和复制耗时估算
+     */
+    private boolean dryRun = false;
+    
+    /**
+     * 试运行输出目录，计划报告和删除文件目录树写到这里，不影响 outputPath
+     */
+    private String planOutputPath = "output-plan";
+    
+    /**
+     * 试运行计划报告文件名
+     */
+    private String planReportFileName = "cleaner-plan.txt";
+    
+    /**
+     * 试运行时用于测量复制吞吐量的抽样文件数
+     */
+    private int planSampleFiles = 200;
 }
\ No newline at end of file
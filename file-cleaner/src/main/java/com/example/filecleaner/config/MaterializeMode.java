@@ -0,0 +1,29 @@
+package com.example.filecleaner.config;
+
+/**
+ * 输出集合中文件的生成方式
+ */
+public enum MaterializeMode {
+    
+    /**
+     * 完整复制文件内容
+     */
+    COPY,
+    
+    /**
+     * 硬链接，要求源目录与输出目录在同一文件系统；
+     * 链接文件与源文件共享内容，修改输出文件会同时修改源文件
+     */
+    HARDLINK,
+    
+    /**
+     * 符号链接，指向源文件的绝对路径
+     */
+    SYMLINK,
+    
+    /**
+     * 写时复制克隆，通过 GNU cp --reflink=always 实现，需要文件系统支持（btrfs、xfs等）；
+     * Windows、macOS（cp 不支持该参数）或不支持克隆的文件系统上，第一次失败后全部回退为复制
+     */
+    REFLINK
+}
@@ -0,0 +1,190 @@
+package com.example.filecleaner.rule;
+
+import com.example.filecleaner.config.CleanerConfig;
+import com.example.filecleaner.service.FileDecision;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 文件剔除规则引擎
+ * 构造时将 CleanerConfig 中的规则一次性编译好，之后对每个文件的判定不再重复处理配置
+ *
+ * 判定顺序：
+ * 1. 命中 excludePatterns 的文件剔除
+ * 2. 命中 includePatterns 的文件保留
+ * 3. 根目录文件、resources 文件夹中的文件、文件名以 keepExtensions 中任一项结尾的文件保留
+ * 4. 其余文件剔除
+ */
+public class FileRuleEngine {
+    
+    private static final String RESOURCES_FOLDER = "resources";
+    private static final String GLOB_PREFIX = "glob:";
+    private static final String REGEX_PREFIX = "regex:";
+    
+    private final boolean keepRootFiles;
+    private final boolean keepResourcesFolder;
+    private final char separator;
+    
+    /**
+     * 小写的扩展名集合（含点号，如 ".java"）
+     */
+    private final Set<String> keepExtensions;
+    
+    /**
+     * 扩展名中最多包含的点号个数，如 ".tar.gz" 为2，用于限制后缀查找次数
+     */
+    private final int maxExtensionDots;
+    
+    /**
+     * 不以点号开头的保留规则（如 "Dockerfile"、"-api.xml"），小写，按文件名后缀逐个匹配
+     */
+    private final List<String> keepSuffixes;
+    
+    private final Set<String> deleteFolders;
+    private final List<PathMatcher> includeMatchers;
+    private final List<PathMatcher> excludeMatchers;
+    
+    public FileRuleEngine(CleanerConfig config) {
+        this(config, FileSystems.getDefault());
+    }
+    
+    public FileRuleEngine(CleanerConfig config, FileSystem fileSystem) {
+        this.keepRootFiles = config.isKeepRootFiles();
+        this.keepResourcesFolder = config.isKeepResourcesFolder();
+        this.separator = fileSystem.getSeparator().charAt(0);
+        
+        Set<String> extensions = new HashSet<>();
+        List<String> suffixes = new ArrayList<>();
+        int maxDots = 0;
+        for (String ext : config.getKeepExtensions()) {
+            String normalized = ext.toLowerCase(Locale.ROOT);
+            if (normalized.startsWith(".")) {
+                extensions.add(normalized);
+                maxDots = Math.max(maxDots, countDots(normalized));
+            } else {
+                suffixes.add(normalized);
+            }
+        }
+        this.keepExtensions = extensions;
+        this.maxExtensionDots = maxDots;
+        this.keepSuffixes = suffixes;
+        
+        this.deleteFolders = new HashSet<>(Arrays.asList(config.getDeleteFolders()));
+        this.includeMatchers = compilePatterns(config.getIncludePatterns(), fileSystem);
+        this.excludeMatchers = compilePatterns(config.getExcludePatterns(), fileSystem);
+    }
+    
+    /**
+     * 是否为需要整体删除的文件夹
+     */
+    public boolean isDeletedFolder(String dirName) {
+        return deleteFolders.contains(dirName);
+    }
+    
+    /**
+     * 判定文件是保留还是剔除
+     *
+     * @param relativePath 相对源项目根目录的路径
+     * @param relativePathString relativePath.toString()，由调用方传入避免重复生成
+     */
+    public FileDecision decide(Path relativePath, String relativePathString) {
+        if (matchesAny(excludeMatchers, relativePath)) {
+            return FileDecision.UNUSED;
+        }
+        if (matchesAny(includeMatchers, relativePath)) {
+            return FileDecision.KEEP;
+        }
+        
+        int lastSeparator = relativePathString.lastIndexOf(separator);
+        if (lastSeparator < 0 && keepRootFiles) {
+            return FileDecision.KEEP;
+        }
+        if (keepResourcesFolder && relativePathString.contains(RESOURCES_FOLDER)) {
+            return FileDecision.KEEP;
+        }
+        if (hasKeepExtension(relativePathString, lastSeparator + 1)
+                || hasKeepSuffix(relativePathString, lastSeparator + 1)) {
+            return FileDecision.KEEP;
+        }
+        return FileDecision.UNUSED;
+    }
+    
+    /**
+     * 从文件名最后一个点号开始向前查找扩展名，最多查找 maxExtensionDots 次
+     */
+    private boolean hasKeepExtension(String path, int fileNameStart) {
+        int dot = path.length();
+        for (int i = 0; i < maxExtensionDots; i++) {
+            dot = path.lastIndexOf('.', dot - 1);
+            if (dot < fileNameStart) {
+                return false;
+            }
+            if (keepExtensions.contains(path.substring(dot).toLowerCase(Locale.ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 文件名是否以不含前导点号的保留规则结尾（不区分大小写）
+     */
+    private boolean hasKeepSuffix(String path, int fileNameStart) {
+        if (keepSuffixes.isEmpty()) {
+            return false;
+        }
+        String fileName = path.substring(fileNameStart).toLowerCase(Locale.ROOT);
+        for (String suffix : keepSuffixes) {
+            if (fileName.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean matchesAny(List<PathMatcher> matchers, Path path) {
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 编译匹配规则，支持 "glob:" 和 "regex:" 前缀，未指定前缀时按 glob 处理；
+     * 匹配对象为相对源项目根目录的路径
+     */
+    private static List<PathMatcher> compilePatterns(String[] patterns, FileSystem fileSystem) {
+        if (patterns == null || patterns.length == 0) {
+            return Collections.emptyList();
+        }
+        List<PathMatcher> matchers = new ArrayList<>(patterns.length);
+        for (String pattern : patterns) {
+            String syntaxAndPattern = pattern.startsWith(GLOB_PREFIX) || pattern.startsWith(REGEX_PREFIX)
+                    ? pattern : GLOB_PREFIX + pattern;
+            matchers.add(fileSystem.getPathMatcher(syntaxAndPattern));
+        }
+        return matchers;
+    }
+    
+    private static int countDots(String ext) {
+        int count = 0;
+        for (int i = 0; i < ext.length(); i++) {
+            if (ext.charAt(i) == '.') {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.filecleaner.service;
+
+import com.example.filecleaner.config.CleanerConfig;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 增量运行使用的文件清单
+ * 记录每个源文件的相对路径、大小、修改时间以及剔除判定结果
+ * 文件格式：若干以 "# " 开头的头部行，之后每行一条记录：判定\t大小\t修改时间\t相对路径
+ */
+@Slf4j
+@Data
+public class CleanerManifest {
+    
+    private static final String VERSION_LINE = "# file-cleaner manifest v1";
+    private static final String SOURCE_KEY = "source";
+    private static final String KEEP_SET_KEY = "keepSet";
+    private static final String UNUSED_SET_KEY = "unusedSet";
+    private static final String MODE_KEY = "mode";
+    
+    /**
+     * 单个文件的清单记录
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Entry {
+        private long size;
+        private long lastModified;
+        private FileDecision decision;
+        
+        /**
+         * 源文件未变化且判定结果相同
+         */
+        public boolean matches(long size, long lastModified, FileDecision decision) {
+            return this.size == size && this.lastModified == lastModified && this.decision == decision;
+        }
+    }
+    
+    /**
+     * 生成清单时的配置，用于判断清单能否用于本次增量运行
+     */
+    private final Map<String, String> header = new HashMap<>();
+    
+    /**
+     * 相对路径 -> 清单记录
+     */
+    private final Map<String, Entry> entries = new HashMap<>();
+    
+    /**
+     * 根据当前配置创建空清单
+     */
+    public static CleanerManifest create(CleanerConfig config) {
+        CleanerManifest manifest = new CleanerManifest();
+        manifest.header.put(SOURCE_KEY, config.getSourcePath());
+        manifest.header.put(KEEP_SET_KEY, config.getKeepSetPath());
+        manifest.header.put(UNUSED_SET_KEY, config.getUnusedSetPath());
+        manifest.header.put(MODE_KEY, String.valueOf(config.getMaterializeMode()));
+        return manifest;
+    }
+    
+    /**
+     * 从文件加载清单
+     */
+    public static CleanerManifest load(Path manifestFile) throws IOException {
+        CleanerManifest manifest = new CleanerManifest();
+        try (BufferedReader reader = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (!VERSION_LINE.equals(line)) {
+                throw new IOException("无法识别的清单文件版本: " + line);
+            }
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("# ")) {
+                    int eq = line.indexOf('=');
+                    if (eq > 2) {
+                        manifest.header.put(line.substring(2, eq), line.substring(eq + 1));
+                    }
+                    continue;
+                }
+                String[] parts = line.split("\t", 4);
+                if (parts.length != 4) {
+                    throw new IOException("清单记录格式错误: " + line);
+                }
+                try {
+                    manifest.entries.put(parts[3], new Entry(Long.parseLong(parts[1]),
+                            Long.parseLong(parts[2]), FileDecision.valueOf(parts[0])));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("清单记录格式错误: " + line, e);
+                }
+            }
+        }
+        return manifest;
+    }
+    
+    /**
+     * 保存清单，先写临时文件再替换，避免中途失败留下残缺清单
+     */
+    public void save(Path manifestFile) throws IOException {
+        Path tempFile = manifestFile.resolveSibling(manifestFile.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            writer.write(VERSION_LINE);
+            writer.newLine();
+            for (Map.Entry<String, String> item : header.entrySet()) {
+                writer.write("# " + item.getKey() + "=" + item.getValue());
+                writer.newLine();
+            }
+            for (Map.Entry<String, Entry> item : entries.entrySet()) {
+                Entry entry = item.getValue();
+                writer.write(entry.getDecision() + "\t" + entry.getSize() + "\t"
+                        + entry.getLastModified() + "\t" + item.getKey());
+                writer.newLine();
+            }
+        }
+        Files.move(tempFile, manifestFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    /**
+     * 清单是否由相同的源路径、输出集合和生成方式产生
+     */
+    public boolean isCompatibleWith(CleanerConfig config) {
+        CleanerManifest current = create(config);
+        for (Map.Entry<String, String> item : current.header.entrySet()) {
+            if (!Objects.equals(item.getValue(), header.get(item.getKey()))) {
+                log.info("清单配置项 {} 已变化: {} -> {}", item.getKey(), header.get(item.getKey()), item.getValue());
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.filecleaner.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * 试运行计划
+ * 汇总每个目录（含子目录）进入保留集合和未使用集合的文件数、字节数，
+ * 并用少量抽样文件的实际复制耗时估算完整运行的复制时间
+ */
+@Slf4j
+public class CleanerPlan {
+
+    private static final int KEEP_FILES = 0;
+    private static final int KEEP_BYTES = 1;
+    private static final int UNUSED_FILES = 2;
+    private static final int UNUSED_BYTES = 3;
+    private static final String ROOT = ".";
+
+    /**
+     * 相对目录 -> 该目录下直接文件的统计
+     */
+    private final Map<String, long[]> directories = new HashMap<>();
+    private final long[] totals = new long[4];
+
+    /**
+     * 蓄水池抽样，保证每个文件被抽中的概率相同
+     */
+    private final int sampleCapacity;
+    private final List<Path> sampleFiles = new ArrayList<>();
+    private final List<Long> sampleSizes = new ArrayList<>();
+    private final Random random = new Random(42);
+    private long seenFiles;
+
+    private long sampleCopiedFiles;
+    private long sampleCopiedBytes;
+    private long sampleNanos;
+
+    public CleanerPlan(int sampleCapacity) {
+        this.sampleCapacity = sampleCapacity;
+    }
+
+    /**
+     * 记录一个文件的判定结果
+     */
+    public void record(Path source, String relativePath, FileDecision decision, long size) {
+        int lastSeparator = relativePath.lastIndexOf(File.separatorChar);
+        String dir = lastSeparator < 0 ? ROOT : relativePath.substring(0, lastSeparator);
+        long[] counters = directories.computeIfAbsent(dir, key -> new long[4]);
+        int offset = decision == FileDecision.KEEP ? KEEP_FILES : UNUSED_FILES;
+        counters[offset]++;
+        counters[offset + 1] += size;
+        totals[offset]++;
+        totals[offset + 1] += size;
+
+        seenFiles++;
+        if (sampleFiles.size() < sampleCapacity) {
+            sampleFiles.add(source);
+            sampleSizes.add(size);
+        } else if (sampleCapacity > 0) {
+            long slot = (long) (random.nextDouble() * seenFiles);
+            if (slot < sampleCapacity) {
+                sampleFiles.set((int) slot, source);
+                sampleSizes.set((int) slot, size);
+            }
+        }
+    }
+
+    /**
+     * 将抽样文件按实际配置（线程数、生成方式）复制到临时目录，测量耗时后删除临时目录
+     */
+    public void measureThroughput(Path workDirectory, int threads, int queueCapacity,
+                                  ParallelCopyPipeline.CopyAction copyAction) throws IOException {
+        if (sampleFiles.isEmpty()) {
+            return;
+        }
+
+        Path tempDir = Files.createTempDirectory(workDirectory, "throughput-sample-");
+        try (ParallelCopyPipeline pipeline = new ParallelCopyPipeline(threads, queueCapacity, copyAction)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < sampleFiles.size(); i++) {
+                pipeline.submit(sampleFiles.get(i), tempDir.resolve("sample-" + i), sampleSizes.get(i));
+            }
+            pipeline.awaitCompletion();
+            sampleNanos = System.nanoTime() - start;
+            sampleCopiedFiles = pipeline.getCopiedFiles();
+            sampleCopiedBytes = pipeline.getCopiedBytes();
+        } finally {
+            try (Stream<Path> samples = Files.list(tempDir)) {
+                for (Path sample : (Iterable<Path>) samples::iterator) {
+                    Files.deleteIfExists(sample);
+                }
+            }
+            Files.delete(tempDir);
+        }
+    }
+
+    /**
+     * 估算完整运行的复制耗时（秒），抽样是对文件的均匀抽样，因此按文件数等比放大
+     * @return 未测量时返回 -1
+     */
+    public double getEstimatedSeconds() {
+        if (sampleCopiedFiles == 0) {
+            return -1;
+        }
+        return sampleNanos / 1e9 * (totals[KEEP_FILES] + totals[UNUSED_FILES]) / sampleCopiedFiles;
+    }
+
+    /**
+     * 抽样复制的吞吐量（MB/s）
+     */
+    public double getSampleThroughputMbPerSecond() {
+        return sampleNanos == 0 ? 0 : sampleCopiedBytes / 1048576.0 / (sampleNanos / 1e9);
+    }
+
+    public long getKeepFiles() {
+        return totals[KEEP_FILES];
+    }
+
+    public long getKeepBytes() {
+        return totals[KEEP_BYTES];
+    }
+
+    public long getUnusedFiles() {
+        return totals[UNUSED_FILES];
+    }
+
+    public long getUnusedBytes() {
+        return totals[UNUSED_BYTES];
+    }
+
+    /**
+     * 写出计划报告：汇总、耗时估算以及每个目录（含子目录）的统计
+     */
+    public void writeReport(Path reportFile) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            writer.write("=== 文件清理计划 ===");
+            writer.newLine();
+            writer.write("保留集合: " + totals[KEEP_FILES] + " 个文件, " + formatBytes(totals[KEEP_BYTES]));
+            writer.newLine();
+            writer.write("未使用集合: " + totals[UNUSED_FILES] + " 个文件, " + formatBytes(totals[UNUSED_BYTES]));
+            writer.newLine();
+            if (sampleCopiedFiles > 0) {
+                writer.write(String.format(Locale.ROOT, "抽样复制: %d 个文件, %s, 耗时 %.3f 秒, 吞吐量 %.1f MB/s",
+                        sampleCopiedFiles, formatBytes(sampleCopiedBytes), sampleNanos / 1e9,
+                        getSampleThroughputMbPerSecond()));
+                writer.newLine();
+                writer.write(String.format(Locale.ROOT, "预计复制耗时: %.1f 秒", getEstimatedSeconds()));
+                writer.newLine();
+            }
+            writer.newLine();
+            writer.write("目录\t保留文件数\t保留字节数\t剔除文件数\t剔除字节数");
+            writer.newLine();
+            for (Map.Entry<String, long[]> entry : rollUpSubtrees().entrySet()) {
+                long[] counters = entry.getValue();
+                writer.write(entry.getKey() + "\t" + counters[KEEP_FILES] + "\t" + counters[KEEP_BYTES]
+                        + "\t" + counters[UNUSED_FILES] + "\t" + counters[UNUSED_BYTES]);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * 将每个目录的直接文件统计累加到所有祖先目录，得到含子目录的统计
+     */
+    private Map<String, long[]> rollUpSubtrees() {
+        Map<String, long[]> subtrees = new TreeMap<>();
+        for (Map.Entry<String, long[]> entry : directories.entrySet()) {
+            String dir = entry.getKey();
+            long[] counters = entry.getValue();
+            while (true) {
+                long[] target = subtrees.computeIfAbsent(dir, key -> new long[4]);
+                for (int i = 0; i < counters.length; i++) {
+                    target[i] += counters[i];
+                }
+                if (ROOT.equals(dir)) {
+                    break;
+                }
+                int lastSeparator = dir.lastIndexOf(File.separatorChar);
+                dir = lastSeparator < 0 ? ROOT : dir.substring(0, lastSeparator);
+            }
+        }
+        return subtrees;
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1048576) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        if (bytes < 1073741824L) {
+            return String.format(Locale.ROOT, "%.1f MB", bytes / 1048576.0);
+        }
+        return String.format(Locale.ROOT, "%.2f GB", bytes / 1073741824.0);
+    }
+}
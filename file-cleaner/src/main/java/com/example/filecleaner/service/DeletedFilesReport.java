@@ -0,0 +1,130 @@
+package com.example.filecleaner.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 删除文件目录树报告
+ * 遍历过程中边发现边写入报告文件，不在内存中保留删除的路径；
+ * 目录行延迟到其下第一次出现删除项时才写出，没有删除项的目录不会出现在报告中
+ */
+@Slf4j
+public class DeletedFilesReport implements AutoCloseable {
+
+    private static final String INDENT = "    ";
+
+    private final Path reportFile;
+    private final BufferedWriter writer;
+
+    /**
+     * 当前遍历路径上的目录名，下标即深度
+     */
+    private final List<String> directories = new ArrayList<>();
+
+    /**
+     * 已写出的目录层数；目录行总是从外到内写出，因此前 writtenDepth 层均已写出
+     */
+    private int writtenDepth;
+
+    private long deletedFileCount;
+    private long deletedFolderCount;
+    private long emptyFolderCount;
+
+    public DeletedFilesReport(Path reportFile) throws IOException {
+        this.reportFile = reportFile;
+        this.writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 进入目录，根目录使用完整路径作为名称
+     */
+    public void enterDirectory(String name) {
+        directories.add(name);
+    }
+
+    /**
+     * 离开目录
+     * @param emptyAfterCleaning 目录中没有任何保留内容，未在保留集合中生成
+     */
+    public void exitDirectory(boolean emptyAfterCleaning) throws IOException {
+        int depth = directories.size() - 1;
+        String name = directories.remove(depth);
+        if (emptyAfterCleaning) {
+            emptyFolderCount++;
+            if (writtenDepth > depth) {
+                writeLine(depth + 1, "∅ 清理后为空，已剔除");
+            } else {
+                flushDirectories();
+                writeLine(depth, "📁 " + name + " (空文件夹，已剔除)");
+            }
+            log.debug("剔除空文件夹: {}", name);
+        }
+        writtenDepth = Math.min(writtenDepth, depth);
+    }
+
+    /**
+     * 记录当前目录下被剔除的文件
+     */
+    public void addFile(String name) throws IOException {
+        deletedFileCount++;
+        flushDirectories();
+        writeLine(directories.size(), "📄 " + name);
+        log.debug("剔除文件: {}", name);
+    }
+
+    /**
+     * 记录当前目录下被整体剔除的文件夹
+     */
+    public void addFolder(String name) throws IOException {
+        deletedFolderCount++;
+        flushDirectories();
+        writeLine(directories.size(), "📁 " + name + " (整体剔除)");
+        log.debug("剔除文件夹: {}", name);
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    public long getDeletedFileCount() {
+        return deletedFileCount;
+    }
+
+    public long getDeletedFolderCount() {
+        return deletedFolderCount;
+    }
+
+    public long getEmptyFolderCount() {
+        return emptyFolderCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 写出当前路径上尚未写出的目录行
+     */
+    private void flushDirectories() throws IOException {
+        while (writtenDepth < directories.size()) {
+            writeLine(writtenDepth, "📁 " + directories.get(writtenDepth));
+            writtenDepth++;
+        }
+    }
+
+    private void writeLine(int depth, String text) throws IOException {
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+        writer.write(text);
+        writer.newLine();
+    }
+}
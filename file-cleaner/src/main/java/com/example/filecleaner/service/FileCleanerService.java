@@ -1,15 +1,18 @@
 package com.example.filecleaner.service;
 
 import com.example.filecleaner.config.CleanerConfig;
+import com.example.filecleaner.rule.FileRuleEngine;
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 文件清理服务类
@@ -18,11 +21,34 @@ import java.util.List;
 public class FileCleanerService {
     
     private final CleanerConfig config;
-    private final List<String> deletedFiles = new ArrayList<>();
-    private final List<String> deletedFolders = new ArrayList<>();
+    private final FileRuleEngine ruleEngine;
+    private final Set<Path> createdDirectories = new HashSet<>();
+    private DeletedFilesReport deletedFilesReport;
+    
+    /**
+     * 试运行计划，非试运行时为null
+     */
+    private CleanerPlan plan;
+    
+    /**
+     * 上次运行的清单，非增量运行时为空清单；遍历过程中命中的记录会被移除，剩余记录即已删除的源文件
+     */
+    private CleanerManifest previousManifest = new CleanerManifest();
+    
+    /**
+     * 本次运行生成的清单，仅增量模式下记录
+     */
+    private CleanerManifest currentManifest;
+    private long unchangedFiles;
+    
+    /**
+     * 判定结果发生变化的文件 -> 上次所在的集合，旧输出在复制流水线完成后删除
+     */
+    private final Map<String, FileDecision> replacedOutputs = new HashMap<>();
     
     public FileCleanerService(CleanerConfig config) {
         this.config = config;
+        this.ruleEngine = new FileRuleEngine(config);
     }
     
     /**
@@ -32,17 +58,31 @@ public class FileCleanerService {
         try {
             log.info("开始执行文件清理任务...");
             
-            // 步骤a: 创建输出文件夹
-            createOutputDirectories();
+            if (config.isDryRun()) {
+                executePlan();
+                return;
+            }
+            
+            // 步骤a: 创建输出文件夹，增量模式下沿用上次的输出
+            boolean incremental = prepareIncrementalRun();
+            if (!incremental) {
+                createOutputDirectories();
+            }
             
-            // 步骤b: 执行文件剔除
+            // 步骤b: 执行文件剔除，同时统计每个目录保留的内容，清理后为空的文件夹不会被创建；
+            // 步骤d: 删除的文件目录树在遍历过程中写入报告文件
             performFileCleaning();
             
-            // 步骤c: 删除空文件夹
-            removeEmptyDirectories();
+            // 步骤c: 增量模式下清理源文件已不存在或已换到另一集合的输出
+            if (incremental) {
+                removeStaleOutputs();
+            }
+            
+            if (currentManifest != null) {
+                saveManifest();
+            }
             
-            // 步骤d: 打印删除的文件目录树
-            printDeletedFilesTree();
+            printDeletedFilesSummary();
             
             log.info("文件清理任务完成！");
             
@@ -73,142 +113,288 @@ public class FileCleanerService {
         log.info("输出目录创建完成");
     }
     
+    /**
+     * 试运行：遍历并判定所有文件，只统计不复制，然后抽样测量复制吞吐量
+     */
+    private void executePlan() throws IOException {
+        Path planOutputPath = Paths.get(config.getPlanOutputPath());
+        Files.createDirectories(planOutputPath);
+        plan = new CleanerPlan(config.getPlanSampleFiles());
+        
+        performFileCleaning();
+        
+        log.info("抽样测量复制吞吐量，抽样文件数: {}", config.getPlanSampleFiles());
+        plan.measureThroughput(planOutputPath, config.getCopyThreads(), config.getCopyQueueCapacity(),
+                new FileMaterializer(config.getMaterializeMode()));
+        
+        Path planReport = planOutputPath.resolve(config.getPlanReportFileName());
+        plan.writeReport(planReport);
+        
+        log.info("=== 文件清理计划 ===");
+        log.info("保留集合: {} 个文件, {}", plan.getKeepFiles(), CleanerPlan.formatBytes(plan.getKeepBytes()));
+        log.info("未使用集合: {} 个文件, {}", plan.getUnusedFiles(), CleanerPlan.formatBytes(plan.getUnusedBytes()));
+        if (plan.getEstimatedSeconds() >= 0) {
+            log.info("抽样吞吐量: {} MB/s, 预计复制耗时: {} 秒",
+                    String.format("%.1f", plan.getSampleThroughputMbPerSecond()),
+                    String.format("%.1f", plan.getEstimatedSeconds()));
+        }
+        log.info("各目录统计: {}", planReport.toAbsolutePath());
+        printDeletedFilesSummary();
+    }
+    
+    /**
+     * 准备增量运行：加载并校验上次的清单
+     * @return 是否可以进行增量运行，否则需要全量重建输出目录
+     */
+    private boolean prepareIncrementalRun() throws IOException {
+        if (!config.isIncremental()) {
+            return false;
+        }
+        
+        currentManifest = CleanerManifest.create(config);
+        Path manifestFile = getManifestFile();
+        if (!Files.exists(manifestFile)) {
+            log.info("未找到清单文件，执行全量运行: {}", manifestFile);
+            return false;
+        }
+        
+        try {
+            CleanerManifest manifest = CleanerManifest.load(manifestFile);
+            if (!manifest.isCompatibleWith(config)) {
+                log.info("清单与当前配置不一致，执行全量运行");
+                return false;
+            }
+            previousManifest = manifest;
+        } catch (IOException e) {
+            log.warn("读取清单文件失败，执行全量运行: {}", e.getMessage());
+            return false;
+        }
+        
+        // 运行中途失败时输出目录与清单不一致，先删除清单，下次运行将退回全量
+        Files.delete(manifestFile);
+        Files.createDirectories(Paths.get(config.getOutputPath(), config.getUnusedSetPath()));
+        Files.createDirectories(Paths.get(config.getOutputPath(), config.getKeepSetPath()));
+        log.info("增量运行，上次清单共 {} 个文件", previousManifest.getEntries().size());
+        return true;
+    }
+    
     /**
      * 执行文件清理
+     * 遍历在当前线程完成，文件复制交给并行复制流水线
      */
     private void performFileCleaning() throws IOException {
-        log.info("开始执行文件剔除...");
+        log.info("开始执行文件剔除，复制线程数: {}，生成方式: {}",
+                config.getCopyThreads(), config.getMaterializeMode());
         
         Path sourcePath = Paths.get(config.getSourcePath());
         Path unusedSetPath = Paths.get(config.getOutputPath(), config.getUnusedSetPath());
-        Path keepSetPath = Paths.get(config.getOutputPath(), config.getKeepSetPath());
         
-        Files.walkFileTree(sourcePath, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                String dirName = dir.getFileName().toString();
+        FileMaterializer materializer = new FileMaterializer(config.getMaterializeMode());
+        
+        try (ParallelCopyPipeline pipeline = new ParallelCopyPipeline(
+                config.getCopyThreads(), config.getCopyQueueCapacity(), materializer);
+             DeletedFilesReport report = new DeletedFilesReport(Paths.get(
+                     plan != null ? config.getPlanOutputPath() : config.getOutputPath(), config.getReportFileName()))) {
+            deletedFilesReport = report;
+            Files.walkFileTree(sourcePath, new SimpleFileVisitor<Path>() {
+                /**
+                 * 当前所在的待删除文件夹，其下所有内容整体进入未使用集合
+                 */
+                private Path deletedFolderRoot;
                 
-                // 检查是否需要删除的文件夹
-                if (Arrays.asList(config.getDeleteFolders()).contains(dirName)) {
-                    log.info("删除文件夹: {}", dir);
-                    copyToUnusedSet(dir, unusedSetPath, sourcePath);
-                    deletedFolders.add(dir.toString());
-                    return FileVisitResult.SKIP_SUBTREE;
-                }
+                /**
+                 * 遍历路径上每个目录中保留的文件和子目录数量，为0的目录清理后为空
+                 */
+                private final Deque<int[]> keptChildren = new ArrayDeque<>();
                 
-                return FileVisitResult.CONTINUE;
-            }
-            
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                boolean shouldKeep = shouldKeepFile(file, sourcePath);
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (deletedFolderRoot != null) {
+                        // 待删除文件夹中的空目录也要保留在未使用集合中
+                        ensureDirectory(unusedSetPath.resolve(sourcePath.relativize(dir)));
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    // 检查是否需要删除的文件夹
+                    Path dirName = dir.getFileName();
+                    if (!dir.equals(sourcePath) && dirName != null && ruleEngine.isDeletedFolder(dirName.toString())) {
+                        log.info("删除文件夹: {}", dir);
+                        report.addFolder(dirName.toString());
+                        deletedFolderRoot = dir;
+                        ensureDirectory(unusedSetPath.resolve(sourcePath.relativize(dir)));
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    keptChildren.push(new int[1]);
+                    report.enterDirectory(dir.equals(sourcePath) ? dir.toString() : dirName.toString());
+                    return FileVisitResult.CONTINUE;
+                }
                 
-                if (shouldKeep) {
-                    copyToKeepSet(file, keepSetPath, sourcePath);
-                } else {
-                    copyToUnusedSet(file, unusedSetPath, sourcePath);
-                    deletedFiles.add(file.toString());
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Path relativePath = sourcePath.relativize(file);
+                    String relativePathString = relativePath.toString();
+                    
+                    if (deletedFolderRoot != null) {
+                        materialize(pipeline, file, relativePathString, FileDecision.UNUSED, attrs);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    FileDecision decision = ruleEngine.decide(relativePath, relativePathString);
+                    materialize(pipeline, file, relativePathString, decision, attrs);
+                    if (decision == FileDecision.KEEP) {
+                        keptChildren.peek()[0]++;
+                    } else {
+                        report.addFile(file.getFileName().toString());
+                    }
+                    
+                    return FileVisitResult.CONTINUE;
                 }
                 
-                return FileVisitResult.CONTINUE;
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                    if (exc != null) {
+                        throw exc;
+                    }
+                    if (deletedFolderRoot != null) {
+                        if (dir.equals(deletedFolderRoot)) {
+                            deletedFolderRoot = null;
+                        }
+                        return FileVisitResult.CONTINUE;
+                    }
+                    
+                    boolean empty = keptChildren.pop()[0] == 0;
+                    report.exitDirectory(empty && !dir.equals(sourcePath));
+                    if (!empty && !keptChildren.isEmpty()) {
+                        keptChildren.peek()[0]++;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            
+            pipeline.awaitCompletion();
+            if (plan != null) {
+                log.info("遍历完成，试运行未复制任何文件");
+                return;
             }
-        });
-        
-        log.info("文件剔除完成");
+            log.info("文件剔除完成，共生成 {} 个文件，{} 字节，未变化跳过 {} 个文件",
+                    pipeline.getCopiedFiles(), pipeline.getCopiedBytes(), unchangedFiles);
+            if (materializer.getFallbackCount() > 0) {
+                log.warn("{} 个文件无法以 {} 方式生成，已回退为复制",
+                        materializer.getFallbackCount(), materializer.getMode());
+            }
+        }
     }
     
     /**
-     * 判断文件是否应该保留
+     * 按判定结果在对应集合中生成文件
+     * 增量模式下跳过与上次清单一致的文件，判定结果变化时记录另一集合中的旧文件，
+     * 在复制完成后删除：删除旧文件时会清理变空的目录，而流水线中同目录下的文件可能还没有写入
      */
-    private boolean shouldKeepFile(Path file, Path sourcePath) {
-        String fileName = file.getFileName().toString();
-        String relativePath = sourcePath.relativize(file).toString();
-        
-        // 检查是否在根目录
-        boolean isInRoot = !relativePath.contains(File.separator);
-        if (isInRoot && config.isKeepRootFiles()) {
-            log.debug("保留根目录文件: {}", fileName);
-            return true;
+    private void materialize(ParallelCopyPipeline pipeline, Path source, String relativePath,
+                             FileDecision decision, BasicFileAttributes attrs) throws IOException {
+        long size = attrs.size();
+        if (plan != null) {
+            plan.record(source, relativePath, decision, size);
+            return;
         }
+
+        long lastModified = attrs.lastModifiedTime().toMillis();
         
-        // 检查是否在resources文件夹中
-        if (config.isKeepResourcesFolder() && relativePath.contains("resources")) {
-            log.debug("保留resources文件夹中的文件: {}", fileName);
-            return true;
+        if (currentManifest != null) {
+            currentManifest.getEntries().put(relativePath, new CleanerManifest.Entry(size, lastModified, decision));
         }
         
-        // 检查文件扩展名
-        for (String ext : config.getKeepExtensions()) {
-            if (fileName.toLowerCase().endsWith(ext.toLowerCase())) {
-                log.debug("保留指定扩展名文件: {}", fileName);
-                return true;
+        CleanerManifest.Entry previous = previousManifest.getEntries().remove(relativePath);
+        if (previous != null) {
+            if (previous.matches(size, lastModified, decision)) {
+                unchangedFiles++;
+                return;
+            }
+            if (previous.getDecision() != decision) {
+                replacedOutputs.put(relativePath, previous.getDecision());
             }
         }
         
-        return false;
+        Path targetPath = getSetPath(decision).resolve(relativePath);
+        ensureDirectory(targetPath.getParent());
+        pipeline.submit(source, targetPath, size);
     }
     
     /**
-     * 复制文件到保留集合
+     * 删除上次运行中源文件已不存在的输出文件，以及判定结果变化后另一集合中的旧文件
+     * 需在复制流水线完成后调用
      */
-    private void copyToKeepSet(Path source, Path keepSetPath, Path sourcePath) throws IOException {
-        Path relativePath = sourcePath.relativize(source);
-        Path targetPath = keepSetPath.resolve(relativePath);
+    private void removeStaleOutputs() throws IOException {
+        Map<String, CleanerManifest.Entry> staleEntries = previousManifest.getEntries();
+        log.info("删除源文件已不存在的输出文件 {} 个，判定结果变化的旧输出 {} 个...",
+                staleEntries.size(), replacedOutputs.size());
         
-        Files.createDirectories(targetPath.getParent());
-        Files.copy(source, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        for (Map.Entry<String, CleanerManifest.Entry> entry : staleEntries.entrySet()) {
+            deleteOutput(entry.getKey(), entry.getValue().getDecision());
+        }
+        staleEntries.clear();
+        for (Map.Entry<String, FileDecision> entry : replacedOutputs.entrySet()) {
+            deleteOutput(entry.getKey(), entry.getValue());
+        }
+        replacedOutputs.clear();
     }
     
     /**
-     * 复制文件到未使用集合
+     * 删除某个集合中的输出文件，并向上删除因此变空的文件夹
      */
-    private void copyToUnusedSet(Path source, Path unusedSetPath, Path sourcePath) throws IOException {
-        Path relativePath = sourcePath.relativize(source);
-        Path targetPath = unusedSetPath.resolve(relativePath);
+    private void deleteOutput(String relativePath, FileDecision decision) throws IOException {
+        Path setPath = getSetPath(decision);
+        Path target = setPath.resolve(relativePath);
+        if (!Files.deleteIfExists(target)) {
+            return;
+        }
+        log.debug("删除过期输出: {}", target);
         
-        Files.createDirectories(targetPath.getParent());
-        if (Files.isDirectory(source)) {
-            copyDirectory(source, targetPath);
-        } else {
-            Files.copy(source, targetPath, StandardCopyOption.REPLACE_EXISTING);
+        Path dir = target.getParent();
+        while (dir != null && !dir.equals(setPath) && isDirEmpty(dir)) {
+            Files.delete(dir);
+            createdDirectories.remove(dir);
+            dir = dir.getParent();
         }
     }
     
     /**
-     * 删除空文件夹
+     * 保存本次运行的清单
      */
-    private void removeEmptyDirectories() throws IOException {
-        log.info("删除空文件夹...");
-        
-        Path keepSetPath = Paths.get(config.getOutputPath(), config.getKeepSetPath());
-        
-        Files.walkFileTree(keepSetPath, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                if (isDirEmpty(dir) && !dir.equals(keepSetPath)) {
-                    log.info("删除空文件夹: {}", dir);
-                    Files.delete(dir);
-                    deletedFolders.add(dir.toString());
-                }
-                return FileVisitResult.CONTINUE;
-            }
-        });
+    private void saveManifest() throws IOException {
+        Path manifestFile = getManifestFile();
+        currentManifest.save(manifestFile);
+        log.info("清单已保存: {}，共 {} 个文件", manifestFile, currentManifest.getEntries().size());
+    }
+    
+    private Path getSetPath(FileDecision decision) {
+        String setPath = decision == FileDecision.KEEP ? config.getKeepSetPath() : config.getUnusedSetPath();
+        return Paths.get(config.getOutputPath(), setPath);
+    }
+    
+    private Path getManifestFile() {
+        return Paths.get(config.getOutputPath(), config.getManifestFileName());
     }
     
     /**
-     * 打印删除的文件目录树
+     * 创建目标目录，每个目录只创建一次（仅在遍历线程中调用）
      */
-    private void printDeletedFilesTree() {
-        log.info("=== 删除的文件目录树 ===");
-        log.info("删除的文件夹 ({} 个):", deletedFolders.size());
-        for (String folder : deletedFolders) {
-            log.info("  📁 {}", folder);
-        }
-        
-        log.info("删除的文件 ({} 个):", deletedFiles.size());
-        for (String file : deletedFiles) {
-            log.info("  📄 {}", file);
+    private void ensureDirectory(Path dir) throws IOException {
+        if (plan == null && createdDirectories.add(dir)) {
+            Files.createDirectories(dir);
         }
+    }
+    
+    /**
+     * 输出删除统计，完整的删除文件目录树见报告文件
+     */
+    private void printDeletedFilesSummary() {
+        log.info("=== 删除的文件统计 ===");
+        log.info("整体删除的文件夹: {} 个", deletedFilesReport.getDeletedFolderCount());
+        log.info("清理后为空的文件夹: {} 个", deletedFilesReport.getEmptyFolderCount());
+        log.info("删除的文件: {} 个", deletedFilesReport.getDeletedFileCount());
+        log.info("删除的文件目录树: {}", deletedFilesReport.getReportFile().toAbsolutePath());
         log.info("========================");
     }
     
@@ -239,25 +425,4 @@ public class FileCleanerService {
             }
         });
     }
-    
-    /**
-     * 复制目录
-     */
-    private void copyDirectory(Path source, Path target) throws IOException {
-        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
-                Path targetDir = target.resolve(source.relativize(dir));
-                Files.createDirectories(targetDir);
-                return FileVisitResult.CONTINUE;
-            }
-            
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                Path targetFile = target.resolve(source.relativize(file));
-                Files.copy(file, targetFile, StandardCopyOption.REPLACE_EXISTING);
-                return FileVisitResult.CONTINUE;
-            }
-        });
-    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.filecleaner.service;
+
+/**
+ * 单个文件的剔除判定结果
+ */
+public enum FileDecision {
+    
+    /**
+     * 保留，进入 step2-set
+     */
+    KEEP,
+    
+    /**
+     * 剔除，进入 step1-unsed-set
+     */
+    UNUSED
+}
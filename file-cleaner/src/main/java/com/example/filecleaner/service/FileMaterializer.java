@@ -0,0 +1,130 @@
+package com.example.filecleaner.service;
+
+import com.example.filecleaner.config.MaterializeMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按配置的生成方式在输出集合中生成文件
+ * 链接失败时仅对当前文件回退为普通复制；克隆（REFLINK）第一次失败后视为不支持，
+ * 之后的文件直接复制，不再逐个启动 cp 进程
+ */
+@Slf4j
+public class FileMaterializer implements ParallelCopyPipeline.CopyAction {
+    
+    private final MaterializeMode mode;
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicBoolean fallbackWarned = new AtomicBoolean();
+    
+    /**
+     * cp --reflink 已失败过一次（cp不存在、不支持该参数或文件系统不支持克隆）
+     */
+    private volatile boolean reflinkUnsupported;
+    
+    public FileMaterializer(MaterializeMode mode) {
+        this.mode = mode == null ? MaterializeMode.COPY : mode;
+    }
+    
+    @Override
+    public void copy(Path source, Path target) throws IOException {
+        if (mode == MaterializeMode.COPY) {
+            copyFile(source, target);
+            return;
+        }
+        if (mode == MaterializeMode.REFLINK && reflinkUnsupported) {
+            fallbackCount.incrementAndGet();
+            copyFile(source, target);
+            return;
+        }
+        
+        try {
+            switch (mode) {
+                case HARDLINK:
+                    Files.deleteIfExists(target);
+                    Files.createLink(target, source);
+                    break;
+                case SYMLINK:
+                    Files.deleteIfExists(target);
+                    Files.createSymbolicLink(target, source.toAbsolutePath());
+                    break;
+                case REFLINK:
+                    try {
+                        reflink(source, target);
+                    } catch (InterruptedIOException e) {
+                        throw e;
+                    } catch (IOException e) {
+                        reflinkUnsupported = true;
+                        throw e;
+                    }
+                    break;
+                default:
+                    copyFile(source, target);
+                    break;
+            }
+        } catch (IOException | UnsupportedOperationException | SecurityException e) {
+            fallbackToCopy(source, target, e);
+        }
+    }
+    
+    public MaterializeMode getMode() {
+        return mode;
+    }
+    
+    /**
+     * 回退为普通复制的文件数
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+    
+    private void fallbackToCopy(Path source, Path target, Exception cause) throws IOException {
+        fallbackCount.incrementAndGet();
+        if (fallbackWarned.compareAndSet(false, true)) {
+            if (reflinkUnsupported) {
+                log.warn("REFLINK 方式不可用，本次运行的文件全部改为复制: {}, 原因: {}", source, cause.getMessage());
+            } else {
+                log.warn("{} 方式生成文件失败，回退为复制: {}, 原因: {}", mode, source, cause.getMessage());
+            }
+        } else {
+            log.debug("{} 方式生成文件失败，回退为复制: {}", mode, source);
+        }
+        copyFile(source, target);
+    }
+    
+    private void copyFile(Path source, Path target) throws IOException {
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    
+    /**
+     * 通过 cp --reflink=always 生成写时复制克隆，JDK没有对应的API
+     */
+    private void reflink(Path source, Path target) throws IOException {
+        Process process = new ProcessBuilder("cp", "--reflink=always", "-f",
+                source.toAbsolutePath().toString(), target.toAbsolutePath().toString())
+                .redirectErrorStream(true)
+                .start();
+        try (InputStream output = process.getInputStream()) {
+            byte[] buffer = new byte[512];
+            while (output.read(buffer) != -1) {
+                // 丢弃cp的输出，避免管道写满阻塞子进程
+            }
+
+            int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IOException("cp --reflink 退出码: " + exitCode);
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("reflink 被中断: " + source);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.filecleaner.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 并行文件复制流水线
+ * 遍历线程负责提交复制任务，固定大小的工作线程池负责实际复制；
+ * 待处理任务数量有上限，超过上限时提交线程阻塞等待（背压）
+ */
+@Slf4j
+public class ParallelCopyPipeline implements AutoCloseable {
+
+    /**
+     * 单个文件的复制动作
+     */
+    @FunctionalInterface
+    public interface CopyAction {
+        void copy(Path source, Path target) throws IOException;
+    }
+
+    private final CopyAction copyAction;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Queue<IOException> failures = new ConcurrentLinkedQueue<>();
+    private final AtomicLong copiedFiles = new AtomicLong();
+    private final AtomicLong copiedBytes = new AtomicLong();
+
+    /**
+     * @param threads 工作线程数，小于等于1时在提交线程上同步复制
+     * @param queueCapacity 允许排队等待的最大任务数
+     * @param copyAction 复制动作
+     */
+    public ParallelCopyPipeline(int threads, int queueCapacity, CopyAction copyAction) {
+        this.copyAction = copyAction;
+        if (threads <= 1) {
+            this.executor = null;
+            this.permits = null;
+        } else {
+            this.executor = Executors.newFixedThreadPool(threads, new CopyThreadFactory());
+            this.permits = new Semaphore(threads + Math.max(queueCapacity, 1));
+        }
+    }
+
+    /**
+     * 提交一个复制任务，队列已满时阻塞直到有空位
+     *
+     * @param size 源文件大小，仅用于统计
+     */
+    public void submit(Path source, Path target, long size) throws IOException {
+        if (executor == null) {
+            copyOne(source, target, size);
+            return;
+        }
+
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待复制队列空位时被中断: " + source);
+        }
+
+        executor.execute(() -> {
+            try {
+                copyOne(source, target, size);
+            } catch (IOException e) {
+                log.error("复制文件失败: {} -> {}, 错误: {}", source, target, e.getMessage());
+                failures.add(e);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+
+    /**
+     * 等待所有已提交任务完成，存在失败任务时抛出第一个异常（其余作为suppressed附加）
+     */
+    public void awaitCompletion() throws IOException {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                while (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.info("等待复制任务完成，已复制 {} 个文件...", copiedFiles.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("等待复制任务完成时被中断");
+            }
+        }
+
+        IOException first = failures.poll();
+        if (first != null) {
+            IOException next;
+            while ((next = failures.poll()) != null) {
+                first.addSuppressed(next);
+            }
+            throw first;
+        }
+    }
+
+    public long getCopiedFiles() {
+        return copiedFiles.get();
+    }
+
+    public long getCopiedBytes() {
+        return copiedBytes.get();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void copyOne(Path source, Path target, long size) throws IOException {
+        copyAction.copy(source, target);
+        copiedFiles.incrementAndGet();
+        copiedBytes.addAndGet(size);
+    }
+
+    /**
+     * 复制工作线程工厂，线程名便于在日志中区分
+     */
+    private static class CopyThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "file-copy-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
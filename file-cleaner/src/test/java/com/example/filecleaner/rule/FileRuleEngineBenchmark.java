@@ -0,0 +1,167 @@
+package com.example.filecleaner.rule;
+
+import com.example.filecleaner.config.CleanerConfig;
+import com.example.filecleaner.service.FileDecision;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单个文件剔除判定耗时的基准测试：原 shouldKeepFile 实现与 FileRuleEngine 对比
+ * legacy/compiled 模拟遍历时每个文件的完整开销（含生成目标路径所需的 relativize）；
+ * legacyDecisionOnly/compiledDecisionOnly 只比较判定本身
+ *
+ * 结果为每个文件的纳秒数：compiled 相对 legacy 的差距是每个文件节省的判定开销，
+ * 两组 DecisionOnly 之差去掉了 relativize，只反映规则匹配本身。样本是 4096 条深度 0~11 的随机路径，循环使用；
+ * 判定规则取 CleanerConfig 的默认配置，评估自定义规则时在 setUp 中修改 config 后再运行 main 方法
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileRuleEngineBenchmark {
+
+    private static final int SAMPLE_SIZE = 4096;
+    private static final String[] FILE_NAMES = {
+            "OrderService.java", "mapper.xml", "application.yml", "README.md", "logo.PNG",
+            "OrderController.JAVA", "package-info.java", "pom.xml", "build.gradle", "data.tar.gz"
+    };
+    private static final String[] FOLDERS = {
+            "tender-api", "src", "main", "java", "com", "paut", "tender", "mgt",
+            "business", "service", "impl", "test", "resources", "mapper", "docs"
+    };
+
+    private CleanerConfig config;
+    private FileRuleEngine engine;
+    private Path sourcePath;
+    private Path[] files;
+    private Path[] relativePaths;
+    private String[] relativePathStrings;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        config = new CleanerConfig();
+        engine = new FileRuleEngine(config);
+        sourcePath = Paths.get("tender-mgt").toAbsolutePath();
+
+        Random random = new Random(42);
+        files = new Path[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            Path path = sourcePath;
+            int depth = random.nextInt(12);
+            for (int d = 0; d < depth; d++) {
+                path = path.resolve(FOLDERS[random.nextInt(FOLDERS.length)]);
+            }
+            files[i] = path.resolve(FILE_NAMES[random.nextInt(FILE_NAMES.length)]);
+        }
+        relativePaths = new Path[SAMPLE_SIZE];
+        relativePathStrings = new String[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            relativePaths[i] = sourcePath.relativize(files[i]);
+            relativePathStrings[i] = relativePaths[i].toString();
+        }
+
+        // 两种实现的判定结果必须一致
+        for (Path file : files) {
+            if (legacyShouldKeepFile(file) != compiledShouldKeepFile(file)) {
+                throw new IllegalStateException("判定结果不一致: " + file);
+            }
+        }
+    }
+
+    /**
+     * 原实现：shouldKeepFile 内部 relativize 一次，copyToKeepSet/copyToUnusedSet 再 relativize 一次
+     */
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        Path file = files[nextIndex()];
+        blackhole.consume(legacyShouldKeepFile(file));
+        blackhole.consume(sourcePath.relativize(file));
+    }
+
+    /**
+     * 新实现：relativize 一次，同时用于判定和生成目标路径
+     */
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        Path relativePath = sourcePath.relativize(files[nextIndex()]);
+        blackhole.consume(engine.decide(relativePath, relativePath.toString()));
+        blackhole.consume(relativePath);
+    }
+
+    @Benchmark
+    public boolean legacyDecisionOnly() {
+        int i = nextIndex();
+        return legacyDecide(relativePathStrings[i], files[i].getFileName().toString());
+    }
+
+    @Benchmark
+    public FileDecision compiledDecisionOnly() {
+        int i = nextIndex();
+        return engine.decide(relativePaths[i], relativePathStrings[i]);
+    }
+
+    private int nextIndex() {
+        index = (index + 1) & (SAMPLE_SIZE - 1);
+        return index;
+    }
+
+    private boolean compiledShouldKeepFile(Path file) {
+        Path relativePath = sourcePath.relativize(file);
+        return engine.decide(relativePath, relativePath.toString()) == FileDecision.KEEP;
+    }
+
+    /**
+     * 原 FileCleanerService.shouldKeepFile 的实现（去掉了debug日志）
+     */
+    private boolean legacyShouldKeepFile(Path file) {
+        String fileName = file.getFileName().toString();
+        String relativePath = sourcePath.relativize(file).toString();
+        return legacyDecide(relativePath, fileName);
+    }
+
+    private boolean legacyDecide(String relativePath, String fileName) {
+        boolean isInRoot = !relativePath.contains(File.separator);
+        if (isInRoot && config.isKeepRootFiles()) {
+            return true;
+        }
+
+        if (config.isKeepResourcesFolder() && relativePath.contains("resources")) {
+            return true;
+        }
+
+        for (String ext : config.getKeepExtensions()) {
+            if (fileName.toLowerCase().endsWith(ext.toLowerCase())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(FileRuleEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
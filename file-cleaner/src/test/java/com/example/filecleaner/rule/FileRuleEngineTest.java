@@ -0,0 +1,53 @@
+package com.example.filecleaner.rule;
+
+import com.example.filecleaner.config.CleanerConfig;
+import com.example.filecleaner.service.FileDecision;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+/**
+ * FileRuleEngine：keepExtensions 与原实现一致，按文件名后缀匹配且不区分大小写
+ */
+public class FileRuleEngineTest {
+
+    @Test
+    public void testKeepExtensionsMatchFileNameSuffix() {
+        CleanerConfig config = new CleanerConfig();
+        config.setKeepExtensions(new String[]{".java", ".tar.gz", "Dockerfile", "-api.xml", "md"});
+        FileRuleEngine engine = new FileRuleEngine(config);
+
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/Order.java"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/Order.JAVA"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/data.tar.gz"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/Dockerfile"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/app.dockerfile"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/order-api.xml"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/README.md"));
+        assertEquals(FileDecision.UNUSED, decide(engine, "mod/order.xml"));
+        assertEquals(FileDecision.UNUSED, decide(engine, "mod/data.gz"));
+        assertEquals("后缀只匹配文件名", FileDecision.UNUSED, decide(engine, "Dockerfile/run.sh"));
+    }
+
+    @Test
+    public void testExcludeAndIncludePatterns() {
+        CleanerConfig config = new CleanerConfig();
+        config.setIncludePatterns(new String[]{"glob:**/*.properties"});
+        config.setExcludePatterns(new String[]{"regex:.*Test\\.java"});
+        FileRuleEngine engine = new FileRuleEngine(config);
+
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/app.properties"));
+        assertEquals(FileDecision.UNUSED, decide(engine, "mod/OrderTest.java"));
+        assertEquals(FileDecision.KEEP, decide(engine, "pom.xml"));
+        assertEquals(FileDecision.UNUSED, decide(engine, "mod/logo.png"));
+        assertEquals(FileDecision.KEEP, decide(engine, "mod/src/main/resources/logo.png"));
+    }
+
+    private static FileDecision decide(FileRuleEngine engine, String relativePath) {
+        Path path = Paths.get(relativePath);
+        return engine.decide(path, path.toString());
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.filecleaner.service;
+
+import com.example.filecleaner.config.CleanerConfig;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * FileCleanerService 增量运行：在临时目录上连续执行两次，验证清单命中、变化、删除、判定变化以及退回全量运行
+ */
+public class FileCleanerServiceTest {
+
+    private static final String MARKER = "上次运行的输出";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path source;
+    private Path output;
+    private CleanerConfig config;
+
+    @Before
+    public void setUp() throws IOException {
+        source = temporaryFolder.newFolder("source").toPath();
+        output = temporaryFolder.getRoot().toPath().resolve("output");
+        write("pom.xml", "<project/>");
+        write("mod/src/main/java/A.java", "class A {}");
+        write("mod/src/main/java/B.java", "class B {}");
+        write("mod/docs/readme.md", "readme");
+        write("mod/lib/only.bin", "binary");
+
+        config = new CleanerConfig();
+        config.setSourcePath(source.toString());
+        config.setOutputPath(output.toString());
+        config.setIncremental(true);
+        config.setCopyThreads(4);
+        run();
+        assertEquals("class A {}", read(keep("mod/src/main/java/A.java")));
+        assertEquals("readme", read(unused("mod/docs/readme.md")));
+    }
+
+    @Test
+    public void testUnchangedFilesAreSkipped() throws IOException {
+        mark(keep("mod/src/main/java/A.java"));
+        run();
+        assertEquals("未变化的文件不应重新生成", MARKER, read(keep("mod/src/main/java/A.java")));
+    }
+
+    @Test
+    public void testAddedAndChangedFiles() throws IOException {
+        write("mod/src/main/java/C.java", "class C {}");
+        write("mod/src/main/java/A.java", "class A { int size; }");
+        mark(keep("mod/src/main/java/B.java"));
+        Path b = source.resolve("mod/src/main/java/B.java");
+        // 只有修改时间变化也视为变化
+        Files.setLastModifiedTime(b, FileTime.fromMillis(
+                Files.getLastModifiedTime(b).toMillis() + 60_000));
+        run();
+
+        assertEquals("class C {}", read(keep("mod/src/main/java/C.java")));
+        assertEquals("class A { int size; }", read(keep("mod/src/main/java/A.java")));
+        assertEquals("class B {}", read(keep("mod/src/main/java/B.java")));
+    }
+
+    @Test
+    public void testDeletedSourceRemovesOutputAndEmptyDirectories() throws IOException {
+        Files.delete(source.resolve("mod/lib/only.bin"));
+        Files.delete(source.resolve("mod/lib"));
+        run();
+
+        assertFalse(Files.exists(unused("mod/lib/only.bin")));
+        assertFalse("变空的目录应被删除", Files.exists(unused("mod/lib")));
+        assertTrue(Files.exists(unused("mod/docs/readme.md")));
+    }
+
+    @Test
+    public void testDecisionChangeMovesOutputToOtherSet() throws IOException {
+        config.setExcludePatterns(new String[]{"glob:**/B.java"});
+        config.setIncludePatterns(new String[]{"glob:**/readme.md"});
+        // 与判定变化的旧输出位于同一目录的新文件，旧输出在复制完成后才删除，目录不会被当作空目录删除
+        for (int i = 0; i < 50; i++) {
+            write("mod/docs/new" + i + ".md", "new" + i);
+        }
+        run();
+
+        assertFalse(Files.exists(keep("mod/src/main/java/B.java")));
+        assertEquals("class B {}", read(unused("mod/src/main/java/B.java")));
+        assertFalse(Files.exists(unused("mod/docs/readme.md")));
+        assertEquals("readme", read(keep("mod/docs/readme.md")));
+        for (int i = 0; i < 50; i++) {
+            assertEquals("new" + i, read(unused("mod/docs/new" + i + ".md")));
+        }
+
+        // 再次运行时判定结果沿用新的清单
+        mark(unused("mod/src/main/java/B.java"));
+        run();
+        assertEquals(MARKER, read(unused("mod/src/main/java/B.java")));
+    }
+
+    @Test
+    public void testMissingManifestFallsBackToFullRun() throws IOException {
+        Files.delete(manifest());
+        assertFullRun();
+    }
+
+    @Test
+    public void testManifestVersionMismatchFallsBackToFullRun() throws IOException {
+        List<String> lines = Files.readAllLines(manifest(), StandardCharsets.UTF_8);
+        lines.set(0, "# file-cleaner manifest v0");
+        Files.write(manifest(), lines, StandardCharsets.UTF_8);
+        assertFullRun();
+    }
+
+    @Test
+    public void testIncompatibleManifestFallsBackToFullRun() throws IOException {
+        config.setKeepSetPath("keep-set");
+        assertFullRun();
+        assertFalse("全量运行应重建输出目录", Files.exists(output.resolve("step2-set")));
+    }
+
+    /**
+     * 全量运行会重建输出目录：上次输出中的多余文件被删除，所有文件重新生成
+     */
+    private void assertFullRun() throws IOException {
+        mark(unused("mod/docs/readme.md"));
+        write(output.resolve("stray.txt"), "stray");
+        run();
+        assertFalse(Files.exists(output.resolve("stray.txt")));
+        assertEquals("readme", read(unused("mod/docs/readme.md")));
+        assertEquals("class A {}", read(keep("mod/src/main/java/A.java")));
+    }
+
+    private void run() {
+        new FileCleanerService(config).execute();
+        assertTrue("运行成功后应保存清单", Files.exists(manifest()));
+    }
+
+    private Path manifest() {
+        return output.resolve(config.getManifestFileName());
+    }
+
+    private Path keep(String relativePath) {
+        return output.resolve(config.getKeepSetPath()).resolve(relativePath);
+    }
+
+    private Path unused(String relativePath) {
+        return output.resolve(config.getUnusedSetPath()).resolve(relativePath);
+    }
+
+    private void write(String relativePath, String content) throws IOException {
+        write(source.resolve(relativePath), content);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void mark(Path file) throws IOException {
+        write(file, MARKER);
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}